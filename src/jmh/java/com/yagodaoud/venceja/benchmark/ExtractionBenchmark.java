@@ -0,0 +1,134 @@
+package com.yagodaoud.venceja.benchmark;
+
+import com.yagodaoud.venceja.service.BoletoBarcodeDecoder;
+import com.yagodaoud.venceja.service.BoletoTextScanner;
+import com.yagodaoud.venceja.service.VisionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark das heurísticas de extração sobre textos OCR sintéticos (corpus/*.txt).
+ * Cada operação processa todos os textos da categoria escolhida. Os extract* medem a API
+ * por campo do VisionService, que faz uma varredura completa a cada chamada.
+ *
+ * <pre>
+ * mvn -o -Pjmh test-compile exec:exec exec:exec@jmh-check
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    private static final String SEPARADOR = "=====";
+    private static final LocalDate HOJE = LocalDate.of(2026, 10, 16);
+
+    @Param({"bancario", "convenio", "ruido"})
+    public String corpus;
+
+    private final VisionService visionService = new VisionService();
+
+    private String[] texts;
+    private String[] codigos;
+
+    @Setup
+    public void setup() throws IOException {
+        texts = load(corpus);
+
+        List<String> encontrados = new ArrayList<>();
+        for (String text : texts) {
+            String codigo = BoletoTextScanner.scan(text, HOJE).getCodigoBarras();
+            if (codigo != null) {
+                encontrados.add(codigo);
+            }
+        }
+        codigos = encontrados.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void extractValor(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(visionService.extractValor(text));
+        }
+    }
+
+    @Benchmark
+    public void extractVencimento(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(visionService.extractVencimento(text));
+        }
+    }
+
+    @Benchmark
+    public void extractFornecedor(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(visionService.extractFornecedor(text));
+        }
+    }
+
+    @Benchmark
+    public void extractCodigoBarras(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(visionService.extractCodigoBarras(text));
+        }
+    }
+
+    /**
+     * Decodificação isolada das linhas digitáveis encontradas no corpus
+     */
+    @Benchmark
+    public void decodeCodigoBarras(Blackhole bh) {
+        for (String codigo : codigos) {
+            bh.consume(BoletoBarcodeDecoder.decode(codigo, HOJE));
+        }
+    }
+
+    /**
+     * Varredura completa, equivalente ao que o scan de boletos executa por documento
+     */
+    @Benchmark
+    public void fullScan(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(BoletoTextScanner.scan(text, HOJE));
+        }
+    }
+
+    private static String[] load(String corpus) throws IOException {
+        String resource = "/corpus/" + corpus + ".txt";
+        try (InputStream input = ExtractionBenchmark.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Corpus não encontrado: " + resource);
+            }
+
+            String content = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            List<String> texts = new ArrayList<>();
+            for (String text : content.split("(?m)^" + SEPARADOR + "$")) {
+                if (!text.isBlank()) {
+                    texts.add(text.strip());
+                }
+            }
+            return texts.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.yagodaoud.venceja.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara o resultado do JMH (-rf json) com um baseline versionado e termina com código 1
+ * se algum benchmark piorar mais que a tolerância: throughput menor, ou tempo médio maior.
+ * Sem baseline, apenas informa, exceto em CI (variável de ambiente CI definida), onde
+ * termina com código 1. O baseline precisa vir da mesma máquina (ou runner de CI) que
+ * executa a comparação.
+ *
+ * <pre>
+ * java JmhBaselineCheck target/jmh-result.json src/jmh/baseline/jmh-baseline.json 0.15
+ * </pre>
+ */
+public final class JmhBaselineCheck {
+
+    private JmhBaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: JmhBaselineCheck <resultado.json> <baseline.json> [tolerancia]");
+            System.exit(2);
+        }
+
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+
+        if (!Files.exists(baselineFile)) {
+            if (System.getenv("CI") != null) {
+                System.err.println("Baseline " + baselineFile + " não encontrado; a verificação é obrigatória em CI. "
+                        + "Gere-o no runner copiando " + resultFile + ".");
+                System.exit(1);
+            }
+            System.out.println("Baseline " + baselineFile + " não encontrado; resultado apenas reportado. "
+                    + "Copie " + resultFile + " para criá-lo.");
+            return;
+        }
+
+        Map<String, JsonNode> baseline = index(baselineFile);
+        List<String> regressions = new ArrayList<>();
+
+        for (Map.Entry<String, JsonNode> entry : index(resultFile).entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println("Sem baseline: " + entry.getKey());
+                continue;
+            }
+
+            double atual = entry.getValue().path("primaryMetric").path("score").asDouble();
+            double anterior = before.path("primaryMetric").path("score").asDouble();
+            // Throughput: maior é melhor; demais modos (avgt, sample, ss): menor é melhor
+            double variacao = "thrpt".equals(entry.getValue().path("mode").asText())
+                    ? (anterior - atual) / anterior
+                    : (atual - anterior) / anterior;
+
+            String linha = String.format("%-70s %12.3f -> %12.3f %s (%+.1f%%)", entry.getKey(), anterior, atual,
+                    entry.getValue().path("primaryMetric").path("scoreUnit").asText(), -variacao * 100);
+            System.out.println(linha);
+            if (variacao > tolerance) {
+                regressions.add(linha);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d benchmark(s) pioraram mais de %.0f%%:%n", regressions.size(), tolerance * 100);
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Resultados por nome do benchmark e parâmetros (ex.: fullScan{corpus=ruido})
+     */
+    private static Map<String, JsonNode> index(Path file) throws IOException {
+        Map<String, JsonNode> results = new HashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file.toFile())) {
+            String name = node.path("benchmark").asText();
+            JsonNode params = node.path("params");
+            results.put(params.isMissingNode() || params.isEmpty() ? name : name + params, node);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,63 @@
+package com.yagodaoud.venceja.benchmark;
+
+import com.yagodaoud.venceja.dto.MoneyDateCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura e escrita de valores e datas pelo MoneyDateCodec. Com -prof gc, parseCents e
+ * formatDate devem ficar em ~0 B/op; parseDate aloca apenas o LocalDate.
+ *
+ * <pre>
+ * mvn -o -Pjmh test-compile exec:exec -Djmh.args="MoneyDateCodecBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyDateCodecBenchmark {
+
+    private static final String TEXTO = "Valor do Documento R$ 1.234,56 Vencimento 10/12/2026";
+    private static final int VALOR_INICIO = 22;
+    private static final int VALOR_FIM = 30;
+    private static final int DATA_INICIO = 42;
+
+    private final LocalDate data = LocalDate.of(2026, 12, 10);
+    private final char[] buffer = new char[32];
+
+    @Benchmark
+    public long parseCents() {
+        return MoneyDateCodec.parseCents(TEXTO, VALOR_INICIO, VALOR_FIM);
+    }
+
+    @Benchmark
+    public LocalDate parseDate() {
+        return MoneyDateCodec.parseDate(TEXTO, DATA_INICIO, DATA_INICIO + 10);
+    }
+
+    @Benchmark
+    public void formatDate(Blackhole bh) {
+        bh.consume(MoneyDateCodec.formatDate(data, buffer, 0));
+        bh.consume(buffer);
+    }
+
+    @Benchmark
+    public void formatCents(Blackhole bh) {
+        bh.consume(MoneyDateCodec.formatCents(123456L, buffer, 0));
+        bh.consume(buffer);
+    }
+}
@@ -7,18 +7,28 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @ApplicationScoped
 public class JwtService {
 
+    // Id numérico do usuário, evita a busca por email a cada requisição
+    public static final String USER_ID_CLAIM = "uid";
+
     @ConfigProperty(name = "mp.jwt.verify.issuer", defaultValue = "https://venceja.com")
     String issuer;
 
     @ConfigProperty(name = "jwt.expiration")
     Long expiration;
 
-    public String generateToken(String username) {
+    // Usuários com acesso às estatísticas operacionais (grupo Admin)
+    @ConfigProperty(name = "auth.admin-emails")
+    Optional<List<String>> adminEmails;
+
+    public String generateToken(String username, Long userId) {
         log.debug("Generating token for user: {} with issuer: {}", username, issuer);
 
         // NOTICE: No manual file reading or KeySpec logic needed!
@@ -26,11 +36,20 @@ public class JwtService {
         String token = Jwt.issuer(issuer)
                 .upn(username)
                 .subject(username)
-                .groups(new HashSet<>(Arrays.asList("User")))
+                .claim(USER_ID_CLAIM, userId)
+                .groups(groups(username))
                 .expiresIn(expiration / 1000)
                 .sign();
 
         log.debug("Token generated successfully");
         return token;
     }
+
+    private Set<String> groups(String username) {
+        Set<String> groups = new HashSet<>(Arrays.asList("User"));
+        if (adminEmails.orElse(List.of()).stream().anyMatch(email -> email.equalsIgnoreCase(username))) {
+            groups.add("Admin");
+        }
+        return groups;
+    }
 }
\ No newline at end of file
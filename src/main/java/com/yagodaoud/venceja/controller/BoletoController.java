@@ -4,11 +4,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yagodaoud.venceja.dto.ApiResponse;
 import com.yagodaoud.venceja.dto.BoletoRequest;
 import com.yagodaoud.venceja.dto.BoletoResponse;
+import com.yagodaoud.venceja.dto.BoletoResumoResponse;
+import com.yagodaoud.venceja.dto.BulkScanResponse;
+import com.yagodaoud.venceja.dto.MoneyDateCodec;
 import com.yagodaoud.venceja.dto.PagedResult;
+import com.yagodaoud.venceja.dto.ScanJobResponse;
 import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.service.BoletoReadService;
+import com.yagodaoud.venceja.service.BoletoResumoService;
 import com.yagodaoud.venceja.service.BoletoService;
+import com.yagodaoud.venceja.service.BulkScanService;
+import com.yagodaoud.venceja.service.ScanJobService;
 import io.quarkus.security.Authenticated;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -16,12 +27,12 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.net.URI;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -40,6 +51,18 @@ public class BoletoController {
     @Inject
     BoletoService boletoService;
 
+    @Inject
+    BoletoReadService boletoReadService;
+
+    @Inject
+    ScanJobService scanJobService;
+
+    @Inject
+    BulkScanService bulkScanService;
+
+    @Inject
+    BoletoResumoService boletoResumoService;
+
     @Inject
     ObjectMapper objectMapper;
 
@@ -68,14 +91,17 @@ public class BoletoController {
                 request = new BoletoRequest();
             }
 
-            byte[] fileBytes = Files.readAllBytes(file.uploadedFile());
-
+            // O arquivo temporário só é removido ao final da requisição, após a conclusão do CompletionStage
             return boletoService.scanBoleto(
-                    fileBytes,
+                    file.uploadedFile(),
                     file.fileName(),
                     request,
                     userEmail
             ).thenApply(response -> {
+                if (Boolean.TRUE.equals(response.getDuplicado())) {
+                    return duplicadoResponse(response);
+                }
+
                 ApiResponse<BoletoResponse> apiResponse = ApiResponse.<BoletoResponse>builder()
                         .data(response)
                         .message("Boleto processado com sucesso")
@@ -90,6 +116,104 @@ public class BoletoController {
         }
     }
 
+    /**
+     * Scan em lote: vários arquivos no campo "files" (imagens, PDFs ou zips)
+     */
+    @POST
+    @Path("/scan/bulk")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    public Response scanBulk(
+            @RestForm("files") List<FileUpload> files,
+            @RestForm("data") String dataJson) {
+        try {
+            String userEmail = securityIdentity.getPrincipal().getName();
+
+            BoletoRequest defaults = null;
+            if (dataJson != null && !dataJson.isEmpty()) {
+                try {
+                    defaults = objectMapper.readValue(dataJson, BoletoRequest.class);
+                } catch (Exception e) {
+                    log.warn("Erro ao parsear JSON do lote: {}", e.getMessage());
+                }
+            }
+
+            List<BulkScanService.BulkFile> bulkFiles = files == null ? List.of() : files.stream()
+                    .map(file -> new BulkScanService.BulkFile(file.fileName(), file.uploadedFile()))
+                    .collect(Collectors.toList());
+
+            BulkScanResponse result = bulkScanService.scan(bulkFiles, defaults, userEmail);
+
+            ApiResponse<BulkScanResponse> response = ApiResponse.<BulkScanResponse>builder()
+                    .data(result)
+                    .message(String.format("Lote processado: %d criados, %d duplicados, %d falhas",
+                            result.getCriados(), result.getDuplicados(), result.getFalhas()))
+                    .build();
+
+            return Response.ok(response).build();
+
+        } catch (IOException e) {
+            // Erros de entrada (IllegalArgumentException) e de capacidade seguem sem encapsular: 400 e 503
+            log.error("Erro ao processar lote de boletos: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao processar lote de boletos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Modo assíncrono do scan: aceita o upload e retorna 202 com o id do job
+     */
+    @POST
+    @Path("/scan/jobs")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    public Response submitScanJob(
+            @RestForm("file") FileUpload file,
+            @RestForm("data") String dataJson) {
+        try {
+            String userEmail = securityIdentity.getPrincipal().getName();
+
+            ScanJobResponse job = scanJobService.submit(
+                    file.uploadedFile(), file.fileName(), dataJson, userEmail);
+
+            ApiResponse<ScanJobResponse> apiResponse = ApiResponse.<ScanJobResponse>builder()
+                    .data(job)
+                    .message("Boleto recebido para processamento")
+                    .build();
+
+            return Response.accepted(apiResponse)
+                    .location(URI.create("/api/v1/boletos/scan/" + job.getId()))
+                    .build();
+
+        } catch (IOException e) {
+            log.error("Erro ao criar job de scan: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao criar job de scan: " + e.getMessage(), e);
+        }
+    }
+
+    @GET
+    @Path("/scan/{jobId}")
+    public Response getScanJob(@PathParam("jobId") String jobId) {
+        String userEmail = securityIdentity.getPrincipal().getName();
+
+        ApiResponse<ScanJobResponse> response = ApiResponse.<ScanJobResponse>builder()
+                .data(scanJobService.getJob(jobId, userEmail))
+                .message("Job de scan encontrado")
+                .build();
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Stream SSE com o estado do job; encerra ao emitir o resultado final
+     */
+    @GET
+    @Path("/scan/{jobId}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Blocking
+    public Multi<ScanJobResponse> streamScanJob(@PathParam("jobId") String jobId) {
+        String userEmail = securityIdentity.getPrincipal().getName();
+        return scanJobService.stream(jobId, userEmail);
+    }
+
     @POST
     public Response createBoleto(
             @Valid BoletoRequest request) {
@@ -98,6 +222,10 @@ public class BoletoController {
 
             BoletoResponse response = boletoService.createBoleto(request, userEmail);
 
+            if (Boolean.TRUE.equals(response.getDuplicado())) {
+                return duplicadoResponse(response);
+            }
+
             ApiResponse<BoletoResponse> apiResponse = ApiResponse.<BoletoResponse>builder()
                     .data(response)
                     .message("Boleto criado com sucesso")
@@ -111,24 +239,63 @@ public class BoletoController {
         }
     }
 
+    /**
+     * Criação em lote (ex.: importação de planilhas); o resultado é reportado por item,
+     * na ordem enviada
+     */
+    @POST
+    @Path("/batch")
+    public Response createBoletos(List<BoletoRequest> requests) {
+        String userEmail = securityIdentity.getPrincipal().getName();
+
+        BulkScanResponse result = BulkScanResponse.of(boletoService.createBoletos(requests, userEmail));
+
+        ApiResponse<BulkScanResponse> response = ApiResponse.<BulkScanResponse>builder()
+                .data(result)
+                .message(String.format("Lote processado: %d criados, %d duplicados, %d falhas",
+                        result.getCriados(), result.getDuplicados(), result.getFalhas()))
+                .build();
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Totais da tela inicial (semana, mês, vencidos, pagos no mês e por categoria)
+     */
     @GET
-    public Response listBoletos(
+    @Path("/summary")
+    public Response getSummary() {
+        String userEmail = securityIdentity.getPrincipal().getName();
+
+        ApiResponse<BoletoResumoResponse> response = ApiResponse.<BoletoResumoResponse>builder()
+                .data(boletoResumoService.getResumo(userEmail, LocalDate.now()))
+                .message("Resumo de boletos")
+                .build();
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Listagem sem bloqueio (event loop e pool reativo), ver BoletoReadService
+     */
+    @GET
+    public Uni<Response> listBoletos(
             @QueryParam("page") @DefaultValue("0") int page,
             @QueryParam("size") @DefaultValue("10") int size,
             @QueryParam("sortBy") @DefaultValue("id") String sortBy,
             @QueryParam("direction") @DefaultValue("desc") String direction,
             @QueryParam("status") String status, // Receives "PENDENTE,VENCIDO"
+            @QueryParam("categoriaId") Long categoriaId,
             @QueryParam("dataInicio") String dataInicioStr,
-            @QueryParam("dataFim") String dataFimStr) {
+            @QueryParam("dataFim") String dataFimStr,
+            @QueryParam("cursor") String cursor, // Presente (mesmo vazio) ativa a paginação por cursor
+            @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal,
+            @QueryParam("q") String q) { // Busca em fornecedor e observações, ordenada por relevância
         
         String userEmail = securityIdentity.getPrincipal().getName();
 
-        LocalDate dataInicio = null;
-        LocalDate dataFim = null;
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-
-        if (dataInicioStr != null) dataInicio = LocalDate.parse(dataInicioStr, formatter);
-        if (dataFimStr != null) dataFim = LocalDate.parse(dataFimStr, formatter);
+        LocalDate dataInicio = parseDateParam("dataInicio", dataInicioStr);
+        LocalDate dataFim = parseDateParam("dataFim", dataFimStr);
 
         List<BoletoStatus> statusList = null;
         if (status != null && !status.trim().isEmpty()) {
@@ -148,22 +315,51 @@ public class BoletoController {
             throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
         }
 
-        PagedResult<BoletoResponse> result = boletoService.listBoletos(
-                userEmail, statusList, dataInicio, dataFim, page, size, sortBy, direction);
+        boolean busca = q != null && !q.isBlank();
+        if (busca && cursor != null) {
+            throw new IllegalArgumentException("A busca (q) é ordenada por relevância e usa paginação por página, sem cursor");
+        }
+
+        if (cursor != null) {
+            return boletoReadService.listBoletosByCursor(
+                    userEmail, statusList, categoriaId, dataInicio, dataFim, cursor, size, sortBy, direction, includeTotal)
+                    .map(result -> {
+                        ApiResponse.Meta meta = ApiResponse.Meta.builder()
+                                .total(result.getTotalElements())
+                                .size(result.getSize())
+                                .nextCursor(result.getNextCursor())
+                                .hasNext(result.isHasNext())
+                                .build();
+
+                        ApiResponse<List<BoletoResponse>> response = ApiResponse.<List<BoletoResponse>>builder()
+                                .data(result.getContent())
+                                .message("Boletos listados com sucesso")
+                                .meta(meta)
+                                .build();
+
+                        return Response.ok(response).build();
+                    });
+        }
 
-        ApiResponse.Meta meta = ApiResponse.Meta.builder()
-                .total(result.getTotalElements())
-                .page(result.getPage())
-                .size(result.getSize())
-                .build();
+        Uni<PagedResult<BoletoResponse>> result = busca
+                ? boletoReadService.searchBoletos(userEmail, q, statusList, categoriaId, dataInicio, dataFim, page, size)
+                : boletoReadService.listBoletos(userEmail, statusList, categoriaId, dataInicio, dataFim, page, size, sortBy, direction);
 
-        ApiResponse<List<BoletoResponse>> response = ApiResponse.<List<BoletoResponse>>builder()
-                .data(result.getContent())
-                .message("Boletos listados com sucesso")
-                .meta(meta)
-                .build();
+        return result.map(paged -> {
+            ApiResponse.Meta meta = ApiResponse.Meta.builder()
+                    .total(paged.getTotalElements())
+                    .page(paged.getPage())
+                    .size(paged.getSize())
+                    .build();
 
-        return Response.ok(response).build();
+            ApiResponse<List<BoletoResponse>> response = ApiResponse.<List<BoletoResponse>>builder()
+                    .data(paged.getContent())
+                    .message("Boletos listados com sucesso")
+                    .meta(meta)
+                    .build();
+
+            return Response.ok(response).build();
+        });
     }
 
     @PUT
@@ -199,16 +395,16 @@ public class BoletoController {
         try {
             String userEmail = securityIdentity.getPrincipal().getName();
 
-            byte[] comprovanteBytes = null;
+            java.nio.file.Path comprovantePath = null;
             String comprovanteName = null;
 
             if (comprovante != null && comprovante.uploadedFile() != null) {
-                comprovanteBytes = Files.readAllBytes(comprovante.uploadedFile());
+                comprovantePath = comprovante.uploadedFile();
                 comprovanteName = comprovante.fileName();
             }
 
             BoletoResponse response = boletoService.pagarBoleto(
-                    id, userEmail, comprovanteBytes, comprovanteName, semComprovante);
+                    id, userEmail, comprovantePath, comprovanteName, semComprovante);
 
             ApiResponse<BoletoResponse> apiResponse = ApiResponse.<BoletoResponse>builder()
                     .data(response)
@@ -243,4 +439,29 @@ public class BoletoController {
             throw new RuntimeException("Erro ao deletar boleto: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private static LocalDate parseDateParam(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        LocalDate date = MoneyDateCodec.parseDate(value);
+        if (date == null) {
+            throw new IllegalArgumentException(
+                    "Data inválida em " + name + ": " + value + ". Use o formato " + MoneyDateCodec.DATE_PATTERN);
+        }
+        return date;
+    }
+
+    /**
+     * Boleto já cadastrado com o mesmo código de barras: 200 com o registro existente
+     */
+    private Response duplicadoResponse(BoletoResponse response) {
+        ApiResponse<BoletoResponse> apiResponse = ApiResponse.<BoletoResponse>builder()
+                .data(response)
+                .message("Boleto já cadastrado com este código de barras")
+                .build();
+
+        return Response.ok(apiResponse).build();
+    }
+}
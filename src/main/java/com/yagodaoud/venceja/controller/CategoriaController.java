@@ -3,10 +3,11 @@ package com.yagodaoud.venceja.controller;
 import com.yagodaoud.venceja.dto.ApiResponse;
 import com.yagodaoud.venceja.dto.CategoriaRequest;
 import com.yagodaoud.venceja.dto.CategoriaResponse;
-import com.yagodaoud.venceja.dto.PagedResult;
+import com.yagodaoud.venceja.service.CategoriaReadService;
 import com.yagodaoud.venceja.service.CategoriaService;
 import io.quarkus.security.Authenticated;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -29,31 +30,37 @@ public class CategoriaController {
     @Inject
     CategoriaService categoriaService;
 
+    @Inject
+    CategoriaReadService categoriaReadService;
+
     @Inject
     SecurityIdentity securityIdentity;
 
+    /**
+     * Listagem sem bloqueio (event loop e pool reativo), ver CategoriaReadService
+     */
     @GET
-    public Response listCategorias(
+    public Uni<Response> listCategorias(
             @QueryParam("page") @DefaultValue("0") int page,
             @QueryParam("size") @DefaultValue("10") int size) {
         
         String userEmail = securityIdentity.getPrincipal().getName();
         
-        PagedResult<CategoriaResponse> result = categoriaService.listCategorias(userEmail, page, size);
-        
-        ApiResponse.Meta meta = ApiResponse.Meta.builder()
-                .total(result.getTotalElements())
-                .page(result.getPage())
-                .size(result.getSize())
-                .build();
-        
-        ApiResponse<List<CategoriaResponse>> response = ApiResponse.<List<CategoriaResponse>>builder()
-                .data(result.getContent())
-                .message("Categorias listadas com sucesso")
-                .meta(meta)
-                .build();
-                
-        return Response.ok(response).build();
+        return categoriaReadService.listCategorias(userEmail, page, size).map(result -> {
+            ApiResponse.Meta meta = ApiResponse.Meta.builder()
+                    .total(result.getTotalElements())
+                    .page(result.getPage())
+                    .size(result.getSize())
+                    .build();
+
+            ApiResponse<List<CategoriaResponse>> response = ApiResponse.<List<CategoriaResponse>>builder()
+                    .data(result.getContent())
+                    .message("Categorias listadas com sucesso")
+                    .meta(meta)
+                    .build();
+
+            return Response.ok(response).build();
+        });
     }
 
     @POST
@@ -0,0 +1,68 @@
+package com.yagodaoud.venceja.controller;
+
+import com.yagodaoud.venceja.dto.ApiResponse;
+import com.yagodaoud.venceja.dto.HibernateCacheStatsResponse;
+import com.yagodaoud.venceja.dto.ImagePreprocessingStatsResponse;
+import com.yagodaoud.venceja.dto.OcrCacheStatsResponse;
+import com.yagodaoud.venceja.service.HibernateCacheStatsService;
+import com.yagodaoud.venceja.service.ImagePreprocessingService;
+import com.yagodaoud.venceja.service.OcrCacheService;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Controller para estatísticas operacionais (caches, contadores). Os números são globais,
+ * não por usuário, então o acesso é restrito ao grupo Admin (auth.admin-emails).
+ */
+@Path("/api/v1/stats")
+@Produces(MediaType.APPLICATION_JSON)
+@RolesAllowed("Admin")
+public class StatsController {
+
+    @Inject
+    OcrCacheService ocrCacheService;
+
+    @Inject
+    ImagePreprocessingService imagePreprocessingService;
+
+    @Inject
+    HibernateCacheStatsService hibernateCacheStatsService;
+
+    @GET
+    @Path("/ocr-cache")
+    public Response ocrCacheStats() {
+        ApiResponse<OcrCacheStatsResponse> response = ApiResponse.<OcrCacheStatsResponse>builder()
+                .data(ocrCacheService.getStats())
+                .message("Estatísticas do cache de OCR")
+                .build();
+
+        return Response.ok(response).build();
+    }
+
+    @GET
+    @Path("/image-preprocessing")
+    public Response imagePreprocessingStats() {
+        ApiResponse<ImagePreprocessingStatsResponse> response = ApiResponse.<ImagePreprocessingStatsResponse>builder()
+                .data(imagePreprocessingService.getStats())
+                .message("Estatísticas do pré-processamento de imagens")
+                .build();
+
+        return Response.ok(response).build();
+    }
+
+    @GET
+    @Path("/hibernate-cache")
+    public Response hibernateCacheStats() {
+        ApiResponse<HibernateCacheStatsResponse> response = ApiResponse.<HibernateCacheStatsResponse>builder()
+                .data(hibernateCacheStatsService.getStats())
+                .message("Estatísticas do cache de segundo nível")
+                .build();
+
+        return Response.ok(response).build();
+    }
+}
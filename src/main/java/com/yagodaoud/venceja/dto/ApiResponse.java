@@ -1,5 +1,6 @@
 package com.yagodaoud.venceja.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,5 +26,12 @@ public class ApiResponse<T> {
         private Long total;
         private Integer page;
         private Integer size;
+
+        // Paginação por cursor: ausentes na paginação por página
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String nextCursor;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean hasNext;
     }
 }
@@ -0,0 +1,49 @@
+package com.yagodaoud.venceja.dto;
+
+import com.yagodaoud.venceja.entity.BoletoStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de boleto lida diretamente da consulta (SELECT new), com a categoria achatada.
+ * Não é uma entidade gerenciada: sem snapshot de dirty checking nem proxies.
+ */
+public record BoletoProjection(
+        Long id,
+        Long userId,
+        String fornecedor,
+        BigDecimal valor,
+        LocalDate vencimento,
+        String codigoBarras,
+        BoletoStatus status,
+        String comprovanteUrl,
+        Boolean semComprovante,
+        String observacoes,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long categoriaId,
+        String categoriaNome,
+        String categoriaCor) {
+
+    public BoletoResponse toResponse() {
+        return BoletoResponse.builder()
+                .id(id)
+                .userId(userId)
+                .fornecedor(fornecedor)
+                .valor(valor)
+                .vencimento(vencimento)
+                .codigoBarras(codigoBarras)
+                .status(status)
+                .comprovanteUrl(comprovanteUrl)
+                .semComprovante(semComprovante)
+                .observacoes(observacoes)
+                .categoria(categoriaId != null
+                        ? CategoriaResponse.builder().id(categoriaId).nome(categoriaNome).cor(categoriaCor).build()
+                        : null)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
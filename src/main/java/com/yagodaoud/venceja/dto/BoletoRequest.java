@@ -1,8 +1,8 @@
 package com.yagodaoud.venceja.dto;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
@@ -18,12 +18,14 @@ public class BoletoRequest {
     @NotBlank(message = "Fornecedor é obrigatório")
     private String fornecedor;
 
-    @NotNull(message = "Valor é obrigatório")
+    // Valor e vencimento podem ser omitidos quando o código de barras os informa.
+    // O valor aceita número JSON ou texto no formato "1.234,56"
     @Positive(message = "Valor deve ser positivo")
+    @Digits(integer = 8, fraction = 2, message = "Valor deve ter no máximo 8 dígitos inteiros e 2 decimais")
+    @JsonDeserialize(using = MoneyDateCodec.MoneyDeserializer.class)
     private BigDecimal valor;
 
-    @NotNull(message = "Vencimento é obrigatório")
-    @JsonFormat(pattern = "dd/MM/yyyy")
+    @JsonDeserialize(using = MoneyDateCodec.DateDeserializer.class)
     private LocalDate vencimento;
 
     private String codigoBarras;
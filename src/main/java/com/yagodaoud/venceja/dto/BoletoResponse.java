@@ -1,7 +1,7 @@
 package com.yagodaoud.venceja.dto;
 
 import com.yagodaoud.venceja.entity.BoletoStatus;
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,7 +25,7 @@ public class BoletoResponse {
     private String fornecedor;
     private BigDecimal valor;
 
-    @JsonFormat(pattern = "dd/MM/yyyy")
+    @JsonSerialize(using = MoneyDateCodec.DateSerializer.class)
     private LocalDate vencimento;
 
     private String codigoBarras;
@@ -36,9 +36,13 @@ public class BoletoResponse {
 
     private CategoriaResponse categoria;
 
-    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    @JsonSerialize(using = MoneyDateCodec.DateTimeSerializer.class)
     private LocalDateTime createdAt;
 
-    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    @JsonSerialize(using = MoneyDateCodec.DateTimeSerializer.class)
     private LocalDateTime updatedAt;
+
+    // Indica que o boleto já existia (mesmo código de barras) e nada foi inserido
+    @Builder.Default
+    private Boolean duplicado = false;
 }
@@ -0,0 +1,59 @@
+package com.yagodaoud.venceja.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO com os totais da tela inicial, calculados a partir do resumo diário
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoletoResumoResponse {
+
+    @JsonSerialize(using = MoneyDateCodec.DateSerializer.class)
+    private LocalDate dataReferencia;
+
+    // Pendentes com vencimento de hoje até o fim da semana (domingo)
+    private Total vencendoSemana;
+
+    // Pendentes com vencimento de hoje até o fim do mês
+    private Total vencendoMes;
+
+    // Vencidos, incluindo pendentes cujo vencimento já passou
+    private Total vencidos;
+
+    // Pagos com vencimento no mês atual
+    private Total pagosMes;
+
+    // Em aberto (pendentes e vencidos) por categoria, do maior valor para o menor
+    private List<CategoriaTotal> porCategoria;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Total {
+        private long quantidade;
+        private BigDecimal valor;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoriaTotal {
+        // Nulo para boletos sem categoria
+        private CategoriaResponse categoria;
+        private long quantidade;
+        private BigDecimal valor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.yagodaoud.venceja.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um arquivo do scan em lote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkScanItemResponse {
+
+    public enum Status {
+        CRIADO,
+        DUPLICADO,
+        FALHA
+    }
+
+    private String arquivo;
+    private Status status;
+    private BoletoResponse boleto;
+    private ErrorResponse.ErrorDetail erro;
+}
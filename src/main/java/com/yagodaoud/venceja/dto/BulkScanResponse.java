@@ -0,0 +1,45 @@
+package com.yagodaoud.venceja.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para resposta do scan em lote e da criação em lote, com o resultado de cada item
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkScanResponse {
+
+    private int total;
+    private int criados;
+    private int duplicados;
+    private int falhas;
+    private List<BulkScanItemResponse> itens;
+
+    public static BulkScanResponse of(List<BulkScanItemResponse> itens) {
+        int criados = 0;
+        int duplicados = 0;
+        int falhas = 0;
+        for (BulkScanItemResponse item : itens) {
+            switch (item.getStatus()) {
+                case CRIADO -> criados++;
+                case DUPLICADO -> duplicados++;
+                case FALHA -> falhas++;
+            }
+        }
+
+        return BulkScanResponse.builder()
+                .total(itens.size())
+                .criados(criados)
+                .duplicados(duplicados)
+                .falhas(falhas)
+                .itens(itens)
+                .build();
+    }
+}
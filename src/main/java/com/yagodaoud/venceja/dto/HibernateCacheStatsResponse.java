@@ -0,0 +1,34 @@
+package com.yagodaoud.venceja.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO com contadores do cache de segundo nível do Hibernate, por região
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HibernateCacheStatsResponse {
+
+    private boolean statisticsEnabled;
+    private List<Region> regions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private String name;
+        private long hits;
+        private long misses;
+        private long puts;
+        private long entries;
+        private double hitRatio;
+    }
+}
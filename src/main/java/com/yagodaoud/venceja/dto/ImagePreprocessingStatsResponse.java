@@ -0,0 +1,23 @@
+package com.yagodaoud.venceja.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com contadores do pré-processamento de imagens
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImagePreprocessingStatsResponse {
+
+    private long processed;
+    private long skipped;
+    private long bytesIn;
+    private long bytesOut;
+    private long bytesSaved;
+    private double averageMillis;
+}
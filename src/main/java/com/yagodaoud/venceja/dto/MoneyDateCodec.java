@@ -0,0 +1,371 @@
+package com.yagodaoud.venceja.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Conversão de valores monetários no formato brasileiro ("1.234,56") e de datas
+ * dd/MM/yyyy, compartilhada pelo scanner de OCR, parâmetros de consulta e JSON.
+ * A leitura trabalha sobre intervalos de CharSequence, sem substrings, e o valor é
+ * mantido em centavos (long) até a criação do objeto final.
+ */
+public final class MoneyDateCodec {
+
+    public static final String DATE_PATTERN = "dd/MM/yyyy";
+
+    // 15 dígitos inteiros + 2 de centavos cabem em um long sem overflow
+    private static final int MAX_DIGITOS_INTEIROS = 15;
+
+    // Buffer para escrita de datas no JSON; o gerador copia os caracteres
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private MoneyDateCodec() {
+    }
+
+    // ==================== Valores ====================
+
+    /**
+     * Converte um valor em centavos; retorna -1 se o texto não for um valor válido.
+     * Aceita "R$" opcional, separadores de milhar ('.' ou ',') em grupos de 3 e separador
+     * decimal com 1 ou 2 dígitos: "1.234,56", "1234,5", "1,234.56", "150".
+     */
+    public static long parseCents(CharSequence s, int start, int end) {
+        start = skipSpaces(s, start, end);
+        end = trimSpaces(s, start, end);
+        if (end - start >= 2 && s.charAt(start) == 'R' && s.charAt(start + 1) == '$') {
+            start = skipSpaces(s, start + 2, end);
+        }
+        if (start >= end) {
+            return -1;
+        }
+
+        // O último separador é decimal apenas se seguido por 1 ou 2 dígitos até o fim
+        int decimal = -1;
+        for (int i = end - 1; i >= start && i >= end - 3; i--) {
+            if (isSeparator(s.charAt(i))) {
+                decimal = i;
+                break;
+            }
+        }
+
+        int intEnd = decimal >= 0 ? decimal : end;
+        long value = 0;
+        int digits = 0;
+        int group = 0;
+        boolean grouped = false;
+        for (int i = start; i < intEnd; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITOS_INTEIROS) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+                group++;
+            } else if (isSeparator(c)) {
+                if (grouped ? group != 3 : group == 0 || group > 3) {
+                    return -1;
+                }
+                grouped = true;
+                group = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (group == 0 || (grouped && group != 3)) {
+            return -1;
+        }
+
+        long fraction = 0;
+        if (decimal >= 0) {
+            int fractionDigits = end - decimal - 1;
+            if (fractionDigits < 1) {
+                return -1;
+            }
+            for (int i = decimal + 1; i < end; i++) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                fraction = fraction * 10 + (c - '0');
+            }
+            if (fractionDigits == 1) {
+                fraction *= 10;
+            }
+        }
+
+        return value * 100 + fraction;
+    }
+
+    /**
+     * Converte o texto inteiro em valor; null se vazio ou inválido
+     */
+    public static BigDecimal parseMoney(CharSequence s) {
+        if (s == null) {
+            return null;
+        }
+        long cents = parseCents(s, 0, s.length());
+        return cents >= 0 ? toBigDecimal(cents) : null;
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Escreve os centavos no formato brasileiro ("1.234,56") e retorna a posição final.
+     * O buffer precisa de pelo menos 27 posições a partir de off.
+     */
+    public static int formatCents(long cents, char[] buf, int off) {
+        if (cents < 0) {
+            buf[off++] = '-';
+            cents = -cents;
+        }
+
+        long reais = cents / 100;
+        int centavos = (int) (cents % 100);
+
+        int digits = 1;
+        for (long n = reais; n >= 10; n /= 10) {
+            digits++;
+        }
+
+        int end = off + digits + (digits - 1) / 3;
+        int p = end;
+        int count = 0;
+        do {
+            if (count > 0 && count % 3 == 0) {
+                buf[--p] = '.';
+            }
+            buf[--p] = (char) ('0' + reais % 10);
+            reais /= 10;
+            count++;
+        } while (reais > 0);
+
+        buf[end] = ',';
+        buf[end + 1] = (char) ('0' + centavos / 10);
+        buf[end + 2] = (char) ('0' + centavos % 10);
+        return end + 3;
+    }
+
+    /**
+     * Valor formatado como "1.234,56" (sem o símbolo da moeda)
+     */
+    public static String formatMoney(BigDecimal valor) {
+        char[] buf = new char[27];
+        int end = formatCents(valor.movePointRight(2).longValue(), buf, 0);
+        return new String(buf, 0, end);
+    }
+
+    // ==================== Datas ====================
+
+    /**
+     * Converte dd?MM?yyyy (separadores '/', '-' ou '.', iguais entre si); retorna null se
+     * inválida. O dia é ajustado ao último dia do mês, como no resolver SMART do
+     * DateTimeFormatter (31/04 vira 30/04).
+     */
+    public static LocalDate parseDate(CharSequence s, int start, int end) {
+        if (end - start != 10) {
+            return null;
+        }
+
+        char sep = s.charAt(start + 2);
+        if ((sep != '/' && sep != '-' && sep != '.') || s.charAt(start + 5) != sep) {
+            return null;
+        }
+
+        int dia = twoDigits(s, start);
+        int mes = twoDigits(s, start + 3);
+        int ano = twoDigits(s, start + 6);
+        int anoBaixo = twoDigits(s, start + 8);
+        if (dia < 0 || mes < 0 || ano < 0 || anoBaixo < 0) {
+            return null;
+        }
+        ano = ano * 100 + anoBaixo;
+
+        if (ano < 1 || mes < 1 || mes > 12 || dia < 1 || dia > 31) {
+            return null;
+        }
+        return LocalDate.of(ano, mes, Math.min(dia, YearMonth.of(ano, mes).lengthOfMonth()));
+    }
+
+    /**
+     * Converte o texto inteiro (espaços nas pontas são ignorados); null se vazio ou inválido
+     */
+    public static LocalDate parseDate(CharSequence s) {
+        if (s == null) {
+            return null;
+        }
+        int start = skipSpaces(s, 0, s.length());
+        return parseDate(s, start, trimSpaces(s, start, s.length()));
+    }
+
+    /**
+     * Escreve a data como dd/MM/yyyy e retorna a posição final
+     */
+    public static int formatDate(LocalDate date, char[] buf, int off) {
+        off = writeTwoDigits(date.getDayOfMonth(), buf, off);
+        buf[off++] = '/';
+        off = writeTwoDigits(date.getMonthValue(), buf, off);
+        buf[off++] = '/';
+        int ano = date.getYear();
+        off = writeTwoDigits(ano / 100, buf, off);
+        return writeTwoDigits(ano % 100, buf, off);
+    }
+
+    /**
+     * Escreve a data e hora como dd/MM/yyyy HH:mm:ss e retorna a posição final
+     */
+    public static int formatDateTime(LocalDateTime dateTime, char[] buf, int off) {
+        off = formatDate(dateTime.toLocalDate(), buf, off);
+        buf[off++] = ' ';
+        off = writeTwoDigits(dateTime.getHour(), buf, off);
+        buf[off++] = ':';
+        off = writeTwoDigits(dateTime.getMinute(), buf, off);
+        buf[off++] = ':';
+        return writeTwoDigits(dateTime.getSecond(), buf, off);
+    }
+
+    public static String formatDate(LocalDate date) {
+        char[] buf = new char[10];
+        formatDate(date, buf, 0);
+        return new String(buf);
+    }
+
+    // ==================== Jackson ====================
+
+    /**
+     * Aceita número JSON ou texto no formato brasileiro ("1.234,56")
+     */
+    public static final class MoneyDeserializer extends StdDeserializer<BigDecimal> {
+
+        public MoneyDeserializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return p.getDecimalValue();
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                return (BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p);
+            }
+
+            // O parser guarda a String do token: sem cópia nem wrapper por chamada
+            String text = p.getText();
+            if (isBlank(text)) {
+                return null;
+            }
+
+            long cents = parseCents(text, 0, text.length());
+            if (cents < 0) {
+                return (BigDecimal) ctxt.handleWeirdStringValue(BigDecimal.class, text,
+                        "Valor inválido, use o formato 1.234,56");
+            }
+            return toBigDecimal(cents);
+        }
+    }
+
+    public static final class DateDeserializer extends StdDeserializer<LocalDate> {
+
+        public DateDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+            }
+
+            String text = p.getText();
+            if (isBlank(text)) {
+                return null;
+            }
+
+            LocalDate date = parseDate(text);
+            if (date == null) {
+                return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, text,
+                        "Data inválida, use o formato " + DATE_PATTERN);
+            }
+            return date;
+        }
+    }
+
+    public static final class DateSerializer extends StdSerializer<LocalDate> {
+
+        public DateSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buf = BUFFER.get();
+            gen.writeString(buf, 0, formatDate(value, buf, 0));
+        }
+    }
+
+    public static final class DateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+        public DateTimeSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buf = BUFFER.get();
+            gen.writeString(buf, 0, formatDateTime(value, buf, 0));
+        }
+    }
+
+    // ==================== Auxiliares ====================
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',';
+    }
+
+    private static int twoDigits(CharSequence s, int p) {
+        char a = s.charAt(p);
+        char b = s.charAt(p + 1);
+        if (a < '0' || a > '9' || b < '0' || b > '9') {
+            return -1;
+        }
+        return (a - '0') * 10 + (b - '0');
+    }
+
+    private static int writeTwoDigits(int value, char[] buf, int off) {
+        buf[off] = (char) ('0' + value / 10);
+        buf[off + 1] = (char) ('0' + value % 10);
+        return off + 2;
+    }
+
+    private static int skipSpaces(CharSequence s, int start, int end) {
+        while (start < end && Character.isWhitespace(s.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimSpaces(CharSequence s, int start, int end) {
+        while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isBlank(CharSequence s) {
+        return skipSpaces(s, 0, s.length()) == s.length();
+    }
+}
@@ -0,0 +1,23 @@
+package com.yagodaoud.venceja.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com contadores do cache de OCR
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrCacheStatsResponse {
+
+    private long memoryHits;
+    private long databaseHits;
+    private long misses;
+    private int memoryEntries;
+    private int maxEntries;
+    private double hitRatio;
+}
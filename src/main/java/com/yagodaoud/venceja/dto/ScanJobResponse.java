@@ -0,0 +1,31 @@
+package com.yagodaoud.venceja.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.yagodaoud.venceja.entity.ScanJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para resposta de job de scan assíncrono
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanJobResponse {
+
+    private String id;
+    private ScanJobStatus status;
+    private BoletoResponse boleto;
+    private ErrorResponse.ErrorDetail erro;
+
+    @JsonSerialize(using = MoneyDateCodec.DateTimeSerializer.class)
+    private LocalDateTime createdAt;
+
+    @JsonSerialize(using = MoneyDateCodec.DateTimeSerializer.class)
+    private LocalDateTime completedAt;
+}
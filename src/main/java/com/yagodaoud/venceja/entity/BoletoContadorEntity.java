@@ -0,0 +1,50 @@
+package com.yagodaoud.venceja.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Quantidade de boletos por usuário, status e categoria
+ */
+@Entity
+@Table(name = "boleto_contadores")
+@IdClass(BoletoContadorEntity.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoletoContadorEntity {
+
+    // Categoria usada para boletos sem categoria (a chave primária não aceita null)
+    public static final long SEM_CATEGORIA = 0L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private BoletoStatus status;
+
+    @Id
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private BoletoStatus status;
+        private Long categoriaId;
+    }
+}
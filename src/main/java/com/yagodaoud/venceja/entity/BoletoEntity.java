@@ -9,8 +9,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
  * Entidade de boleto
@@ -23,8 +26,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class BoletoEntity {
 
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Sequence com blocos de 50 ids: permite batch JDBC nos INSERTs (IDENTITY não permite)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boletos_seq")
+    @SequenceGenerator(name = "boletos_seq", sequenceName = "boletos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -47,6 +55,10 @@ public class BoletoEntity {
     @Column(name = "codigo_barras")
     private String codigoBarras;
 
+    // Forma canônica do código de barras, única por usuário (ver BoletoBarcodeDecoder.normalize)
+    @Column(name = "codigo_barras_normalizado", length = 48)
+    private String codigoBarrasNormalizado;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -62,6 +74,10 @@ public class BoletoEntity {
     @Column(columnDefinition = "TEXT")
     private String observacoes;
 
+    // Fornecedor e observações normalizados para a busca (índice de trigramas no PostgreSQL)
+    @Column(columnDefinition = "TEXT")
+    private String busca;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -69,4 +85,19 @@ public class BoletoEntity {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void atualizarBusca() {
+        busca = normalizarBusca(fornecedor + " " + (observacoes != null ? observacoes : ""));
+    }
+
+    /**
+     * Minúsculas, sem acentos e com pontuação trocada por espaço ("Açougue São-João" vira
+     * "acougue sao joao"); a migration V12 aplica a mesma regra aos boletos existentes
+     */
+    public static String normalizarBusca(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
 }
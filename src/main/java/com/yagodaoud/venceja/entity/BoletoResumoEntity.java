@@ -0,0 +1,56 @@
+package com.yagodaoud.venceja.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Quantidade e valor dos boletos de um usuário por dia de vencimento, status e categoria
+ */
+@Entity
+@Table(name = "boleto_resumo_diario")
+@IdClass(BoletoResumoEntity.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoletoResumoEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private LocalDate dia;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private BoletoStatus status;
+
+    @Id
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal valor;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate dia;
+        private BoletoStatus status;
+        private Long categoriaId;
+    }
+}
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
  * Entidade de categoria
  */
 @Entity
+@Cacheable
 @Table(name = "categorias")
 @Data
 @Builder
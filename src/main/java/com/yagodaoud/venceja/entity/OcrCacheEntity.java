@@ -0,0 +1,38 @@
+package com.yagodaoud.venceja.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade de cache de resultados de OCR, indexada pelo SHA-256 do arquivo
+ */
+@Entity
+@Table(name = "ocr_cache")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrCacheEntity {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String texto;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.yagodaoud.venceja.entity;
+
+/**
+ * Enum para status do job de scan assíncrono
+ */
+public enum ScanJobStatus {
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDO,
+    FALHA
+}
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
  * Entidade de usuário do sistema
  */
 @Entity
+@Cacheable
 @Table(name = "users")
 @Data
 @Builder
@@ -1,6 +1,8 @@
 package com.yagodaoud.venceja.exception;
 
 import com.yagodaoud.venceja.dto.ErrorResponse;
+import com.yagodaoud.venceja.service.OcrException;
+import com.yagodaoud.venceja.service.ScanCapacityException;
 import jakarta.validation.ValidationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -25,6 +27,12 @@ public class GlobalExceptionHandler implements ExceptionMapper<Throwable> {
             return handleIllegalArgumentException((IllegalArgumentException) ex);
         }
 
+        for (Throwable current = ex; current != null && current.getCause() != current; current = current.getCause()) {
+            if (current instanceof ScanCapacityException) {
+                return handleScanCapacityException((ScanCapacityException) current);
+            }
+        }
+
         // Add other specific exception handling here if needed
         // Note: Bean Validation errors are usually handled by Quarkus automatically (ResteasyViolationException),
         // but we can override if we want custom format. For now let's handle generic ones.
@@ -46,12 +54,30 @@ public class GlobalExceptionHandler implements ExceptionMapper<Throwable> {
         return Response.status(Response.Status.BAD_REQUEST).entity(errorResponse).build();
     }
 
+    private Response handleScanCapacityException(ScanCapacityException ex) {
+        ErrorResponse.ErrorDetail errorDetail = ErrorResponse.ErrorDetail.builder()
+                .code("SERVICE_BUSY")
+                .message(ex.getMessage())
+                .details(List.of())
+                .build();
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .error(errorDetail)
+                .build();
+
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "30")
+                .entity(errorResponse)
+                .build();
+    }
+
     private Response handleGenericException(Throwable ex) {
         String code = "INTERNAL_ERROR";
         String message = "Erro interno do servidor";
         Response.Status status = Response.Status.INTERNAL_SERVER_ERROR;
 
-        if (ex.getMessage() != null && ex.getMessage().contains("OCR")) {
+        // Falhas de OCR podem chegar encapsuladas (ex.: CompletionException do scan assíncrono)
+        if (OcrException.isCause(ex)) {
             code = "OCR_FAIL";
             message = "Falha ao processar OCR. Por favor, tente novamente ou insira os dados manualmente.";
             status = Response.Status.BAD_REQUEST;
@@ -0,0 +1,56 @@
+package com.yagodaoud.venceja.filter;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Limite de corpo por rota. O limite do Vert.x (quarkus.http.limits.max-body-size) é o do
+ * scan em lote, cujo multipart é gravado em disco à medida que chega e tem cada arquivo
+ * verificado contra scan.bulk.max-file-size; as demais rotas ficam em http.max-body-size
+ * (o padrão do Quarkus). Fora do lote, corpos sem Content-Length são recusados, já que
+ * o tamanho não pode ser conferido antes da leitura.
+ */
+@ApplicationScoped
+public class BodySizeLimitFilter {
+
+    static final String BULK_SCAN_PATH = "/api/v1/boletos/scan/bulk";
+
+    @ConfigProperty(name = "http.max-body-size", defaultValue = "10240K")
+    MemorySize maxBodySize;
+
+    void register(@Observes Filters filters) {
+        filters.register(this::filter, 100);
+    }
+
+    void filter(RoutingContext context) {
+        if (BULK_SCAN_PATH.equals(context.normalizedPath())) {
+            context.next();
+            return;
+        }
+
+        String length = context.request().getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (length == null) {
+            if (context.request().headers().contains(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CHUNKED, true)) {
+                context.response().setStatusCode(411).end();
+                return;
+            }
+        } else if (parse(length) > maxBodySize.asLongValue()) {
+            context.response().setStatusCode(413).end();
+            return;
+        }
+        context.next();
+    }
+
+    private static long parse(String length) {
+        try {
+            return Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.entity.BoletoContadorEntity;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+
+/**
+ * Repositório para contadores de boletos
+ */
+@ApplicationScoped
+public class BoletoContadorRepository implements PanacheRepositoryBase<BoletoContadorEntity, BoletoContadorEntity.Key> {
+
+    // Upsert atômico: a primeira escrita de uma chave não pode disputar o INSERT com outra transação
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO boleto_contadores (user_id, status, categoria_id, quantidade)
+            VALUES (?1, ?2, ?3, ?4)
+            ON CONFLICT (user_id, status, categoria_id)
+            DO UPDATE SET quantidade = boleto_contadores.quantidade + EXCLUDED.quantidade
+            """;
+
+    private static final String UPSERT_MERGE = """
+            MERGE INTO boleto_contadores t
+            USING (VALUES (CAST(?1 AS BIGINT), CAST(?2 AS VARCHAR(20)), CAST(?3 AS BIGINT), CAST(?4 AS BIGINT)))
+                AS s (user_id, status, categoria_id, delta)
+            ON t.user_id = s.user_id AND t.status = s.status AND t.categoria_id = s.categoria_id
+            WHEN MATCHED THEN UPDATE SET quantidade = t.quantidade + s.delta
+            WHEN NOT MATCHED THEN INSERT (user_id, status, categoria_id, quantidade)
+                VALUES (s.user_id, s.status, s.categoria_id, s.delta)
+            """;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public void increment(Long userId, BoletoStatus status, long categoriaId, long delta) {
+        getEntityManager()
+                .createNativeQuery("postgresql".equals(dbKind) ? UPSERT_POSTGRES : UPSERT_MERGE)
+                .setParameter(1, userId)
+                .setParameter(2, status.name())
+                .setParameter(3, categoriaId)
+                .setParameter(4, delta)
+                .executeUpdate();
+    }
+
+    public long sum(Long userId, List<BoletoStatus> statuses, Long categoriaId) {
+        StringBuilder query = new StringBuilder(
+                "SELECT COALESCE(SUM(c.quantidade), 0) FROM BoletoContadorEntity c WHERE c.userId = :userId");
+
+        if (statuses != null && !statuses.isEmpty()) {
+            query.append(" AND c.status IN :statuses");
+        }
+        if (categoriaId != null) {
+            query.append(" AND c.categoriaId = :categoriaId");
+        }
+
+        TypedQuery<Long> typed = getEntityManager().createQuery(query.toString(), Long.class)
+                .setParameter("userId", userId);
+        if (statuses != null && !statuses.isEmpty()) {
+            typed.setParameter("statuses", statuses);
+        }
+        if (categoriaId != null) {
+            typed.setParameter("categoriaId", categoriaId);
+        }
+
+        return typed.getSingleResult();
+    }
+
+    public List<BoletoContadorEntity> findByUserIdAndCategoriaId(Long userId, long categoriaId) {
+        return list("userId = ?1 and categoriaId = ?2", userId, categoriaId);
+    }
+
+    public long deleteByUserIdAndCategoriaId(Long userId, long categoriaId) {
+        return delete("userId = ?1 and categoriaId = ?2", userId, categoriaId);
+    }
+
+    /**
+     * Recalcula os contadores do usuário a partir da tabela de boletos. O DELETE só trava as
+     * linhas existentes: no PostgreSQL a tabela é travada antes, para que o incremento de uma
+     * chave nova não dispute o INSERT nem se perca; escritas concorrentes esperam o commit e
+     * somam seu delta ao valor recalculado.
+     */
+    public int rebuild(Long userId) {
+        if ("postgresql".equals(dbKind)) {
+            getEntityManager()
+                    .createNativeQuery("LOCK TABLE boleto_contadores IN SHARE ROW EXCLUSIVE MODE")
+                    .executeUpdate();
+        }
+        delete("userId", userId);
+        return getEntityManager().createNativeQuery("""
+                INSERT INTO boleto_contadores (user_id, status, categoria_id, quantidade)
+                SELECT user_id, status, COALESCE(categoria_id, 0), COUNT(*)
+                FROM boletos
+                WHERE user_id = ?1
+                GROUP BY user_id, status, COALESCE(categoria_id, 0)
+                """)
+                .setParameter(1, userId)
+                .executeUpdate();
+    }
+}
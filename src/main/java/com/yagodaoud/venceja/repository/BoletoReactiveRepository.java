@@ -0,0 +1,279 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.dto.BoletoProjection;
+import com.yagodaoud.venceja.dto.BoletoResponse;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import io.vertx.sqlclient.data.Numeric;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listagens de boletos pelo cliente reativo do PostgreSQL: as mesmas consultas do
+ * BoletoRepository, montadas pelo BoletoSql (filtros, keyset, busca por trigramas e arquivo),
+ * executadas no event loop com pool próprio, sem ocupar conexões JDBC. As leituras vão à
+ * réplica quando configurada (ReadReplicaRouter).
+ */
+@ApplicationScoped
+public class BoletoReactiveRepository {
+
+    @Inject
+    ReadReplicaRouter router;
+
+    @Inject
+    JdbcTimestamps timestamps;
+
+    /**
+     * Indica se o pool reativo existe (não existe no perfil dev, com H2)
+     */
+    public boolean available() {
+        return router.reactiveAvailable();
+    }
+
+    public Uni<List<BoletoResponse>> findByUserIdWithFilters(
+            Long userId,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            int pageIndex,
+            int pageSize,
+            String sortProperty,
+            boolean desc) {
+
+        Pool pool = router.forUser(userId);
+        return includesArchive(pool, userId, statuses, dataInicio, dataFim).flatMap(arquivo -> {
+            Params params = new Params();
+            String where = BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim);
+            StringBuilder sql = new StringBuilder(BoletoSql.SELECT).append(BoletoSql.from(arquivo, where))
+                    .append(BoletoSql.orderBy(sortProperty, desc));
+            sql.append(" LIMIT ").append(params.add(pageSize))
+                    .append(" OFFSET ").append(params.add((long) pageIndex * pageSize));
+
+            return list(pool, sql, params);
+        });
+    }
+
+    public Uni<Long> countByUserIdWithFilters(
+            Long userId,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim) {
+
+        Pool pool = router.forUser(userId);
+        return includesArchive(pool, userId, statuses, dataInicio, dataFim).flatMap(arquivo -> {
+            Params params = new Params();
+            String where = BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim);
+            return single(pool, new StringBuilder("SELECT COUNT(*)").append(BoletoSql.from(arquivo, where)), params);
+        });
+    }
+
+    /**
+     * Paginação por keyset, como BoletoRepository.findByUserIdAfterCursor
+     */
+    public Uni<List<BoletoResponse>> findByUserIdAfterCursor(
+            Long userId,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            String sortProperty,
+            boolean desc,
+            Object cursorValue,
+            Long cursorId,
+            int limit) {
+
+        Pool pool = router.forUser(userId);
+        return includesArchive(pool, userId, statuses, dataInicio, dataFim).flatMap(arquivo -> {
+            Params params = new Params();
+            String where = BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim)
+                    + BoletoSql.afterCursor(params, sortProperty, desc, cursorValue, cursorId);
+
+            StringBuilder sql = new StringBuilder(BoletoSql.SELECT).append(BoletoSql.from(arquivo, where))
+                    .append(BoletoSql.orderBy(sortProperty, desc))
+                    .append(" LIMIT ").append(params.add(limit));
+
+            return list(pool, sql, params);
+        });
+    }
+
+    /**
+     * Busca por trigramas, como BoletoRepository.searchByUserId no PostgreSQL. O termo já deve
+     * estar normalizado (BoletoEntity.normalizarBusca).
+     */
+    public Uni<List<BoletoResponse>> searchByUserId(
+            Long userId,
+            String termo,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            int pageIndex,
+            int pageSize) {
+
+        Pool pool = router.forUser(userId);
+        return includesArchive(pool, userId, statuses, dataInicio, dataFim).flatMap(arquivo -> {
+            Params params = new Params();
+            StringBuilder where = new StringBuilder(BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim));
+            String termoParam = BoletoSql.appendSearch(where, params, termo);
+
+            StringBuilder sql = new StringBuilder(BoletoSql.SELECT).append(BoletoSql.from(arquivo, where.toString()))
+                    .append(BoletoSql.orderBySimilarity(termoParam))
+                    .append(" LIMIT ").append(params.add(pageSize))
+                    .append(" OFFSET ").append(params.add((long) pageIndex * pageSize));
+
+            return list(pool, sql, params);
+        });
+    }
+
+    public Uni<Long> countSearchByUserId(
+            Long userId,
+            String termo,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim) {
+
+        Pool pool = router.forUser(userId);
+        return includesArchive(pool, userId, statuses, dataInicio, dataFim).flatMap(arquivo -> {
+            Params params = new Params();
+            StringBuilder where = new StringBuilder(BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim));
+            BoletoSql.appendSearch(where, params, termo);
+
+            return single(pool, new StringBuilder("SELECT COUNT(*)").append(BoletoSql.from(arquivo, where.toString())), params);
+        });
+    }
+
+    /**
+     * Soma de boleto_contadores, como BoletoContadorRepository.sum
+     */
+    public Uni<Long> sumContadores(Long userId, List<BoletoStatus> statuses, Long categoriaId) {
+        Params params = new Params();
+        StringBuilder sql = new StringBuilder("SELECT COALESCE(SUM(c.quantidade), 0) FROM boleto_contadores c WHERE c.user_id = ")
+                .append(params.add(userId));
+
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND ").append(params.in("c.status", statuses.stream().map(BoletoStatus::name).toList()));
+        }
+        if (categoriaId != null) {
+            sql.append(" AND c.categoria_id = ").append(params.add(categoriaId));
+        }
+
+        return single(router.forUser(userId), sql, params);
+    }
+
+    /**
+     * Boletos pendentes com vencimento no intervalo, de todos os usuários (alertas)
+     */
+    public Uni<List<BoletoProjection>> findPendingNearDueDate(LocalDate minDate, LocalDate maxDate) {
+        Params params = new Params();
+        String where = "b.status = " + params.add(BoletoStatus.PENDENTE)
+                + " AND b.vencimento <= " + params.add(maxDate)
+                + " AND b.vencimento >= " + params.add(minDate);
+
+        return projections(router.forScan(), new StringBuilder(BoletoSql.SELECT).append(BoletoSql.from(false, where)), params);
+    }
+
+    /**
+     * Decide se boletos_archive entra na consulta, como BoletoRepository.includesArchive
+     */
+    private Uni<Boolean> includesArchive(
+            Pool pool,
+            Long userId,
+            List<BoletoStatus> statuses,
+            LocalDate dataInicio,
+            LocalDate dataFim) {
+
+        if (!BoletoSql.mayReachArchive(statuses, dataInicio, dataFim)) {
+            return Uni.createFrom().item(false);
+        }
+        return pool
+                .preparedQuery(BoletoSql.MAX_ARQUIVADO + "$1")
+                .execute(Tuple.of(userId))
+                .map(rows -> BoletoSql.reachesArchive(dataInicio, rows.iterator().next().getLocalDate(0)));
+    }
+
+    private Uni<List<BoletoResponse>> list(Pool pool, StringBuilder sql, Params params) {
+        return projections(pool, sql, params).map(boletos -> boletos.stream().map(BoletoProjection::toResponse).toList());
+    }
+
+    private Uni<List<BoletoProjection>> projections(Pool pool, StringBuilder sql, Params params) {
+        return pool
+                .preparedQuery(sql.toString())
+                .execute(params.tuple())
+                .map(rows -> {
+                    List<BoletoProjection> boletos = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        boletos.add(toProjection(row));
+                    }
+                    return boletos;
+                });
+    }
+
+    private Uni<Long> single(Pool pool, StringBuilder sql, Params params) {
+        return pool
+                .preparedQuery(sql.toString())
+                .execute(params.tuple())
+                .map(rows -> rows.iterator().next().getLong(0));
+    }
+
+    private BoletoProjection toProjection(Row row) {
+        return new BoletoProjection(
+                row.getLong("id"),
+                row.getLong("user_id"),
+                row.getString("fornecedor"),
+                row.getBigDecimal("valor"),
+                row.getLocalDate("vencimento"),
+                row.getString("codigo_barras"),
+                BoletoStatus.valueOf(row.getString("status")),
+                row.getString("comprovante_url"),
+                row.getBoolean("sem_comprovante"),
+                row.getString("observacoes"),
+                timestamps.fromDatabase(row.getLocalDateTime("created_at")),
+                timestamps.fromDatabase(row.getLocalDateTime("updated_at")),
+                row.getLong("categoria_id"),
+                row.getString("categoria_nome"),
+                row.getString("categoria_cor"));
+    }
+
+    /**
+     * Parâmetros posicionais ($1, $2, ...), com os valores nos tipos do cliente reativo
+     */
+    private final class Params extends BoletoSql.Params {
+
+        @Override
+        String add(Object value) {
+            if (value instanceof BigDecimal decimal) {
+                return super.add(Numeric.create(decimal));
+            }
+            if (value instanceof LocalDateTime dateTime) {
+                return super.add(timestamps.toDatabase(dateTime));
+            }
+            return super.add(value);
+        }
+
+        @Override
+        String placeholder(int index) {
+            return "$" + index;
+        }
+
+        @Override
+        String in(String coluna, List<String> valores) {
+            return coluna + " = ANY(" + add(valores.toArray(new String[0])) + ")";
+        }
+
+        Tuple tuple() {
+            return Tuple.from(values);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.yagodaoud.venceja.repository;
 
+import com.yagodaoud.venceja.dto.BoletoProjection;
 import com.yagodaoud.venceja.entity.BoletoEntity;
 import com.yagodaoud.venceja.entity.BoletoStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Repositório para boletos
@@ -17,113 +26,382 @@ import java.util.Map;
 @ApplicationScoped
 public class BoletoRepository implements PanacheRepository<BoletoEntity> {
 
-    public List<BoletoEntity> findByUserIdWithFilters(
+    // Projeção das listagens: b.user.id usa a coluna user_id, sem join com users
+    private static final String SELECT_PROJECTION = """
+        SELECT new com.yagodaoud.venceja.dto.BoletoProjection(
+            b.id, b.user.id, b.fornecedor, b.valor, b.vencimento, b.codigoBarras, b.status,
+            b.comprovanteUrl, b.semComprovante, b.observacoes, b.createdAt, b.updatedAt,
+            c.id, c.nome, c.cor)
+        FROM BoletoEntity b
+        LEFT JOIN b.categoria c
+    """;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    /**
+     * Listagem paginada; filtros e ordenação vêm do BoletoSql, como na listagem reativa
+     */
+    public List<BoletoProjection> findByUserIdWithFilters(
             Long userId,
             List<BoletoStatus> statuses,
+            Long categoriaId,
             LocalDate dataInicio,
             LocalDate dataFim,
             int pageIndex,
             int pageSize,
-            String sortBy,
-            String direction) {
+            String sortProperty,
+            boolean desc) {
 
-        Map<String, Object> params = new HashMap<>();
-        params.put("userId", userId);
+        Params params = new Params();
+        String where = BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim);
+        boolean arquivo = includesArchive(userId, statuses, dataInicio, dataFim);
+        return nativeProjection(BoletoSql.from(arquivo, where) + BoletoSql.orderBy(sortProperty, desc),
+                params, pageIndex * pageSize, pageSize);
+    }
 
-        StringBuilder query = new StringBuilder("""
-        SELECT b FROM BoletoEntity b
-        LEFT JOIN FETCH b.categoria
-        WHERE b.user.id = :userId
-    """);
+    public long countByUserIdWithFilters(
+            Long userId,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim) {
 
-        if (statuses != null && !statuses.isEmpty()) {
-            query.append(" AND b.status IN :statuses");
-            params.put("statuses", statuses);
-        }
+        Params params = new Params();
+        String where = BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim);
+        return count(BoletoSql.from(includesArchive(userId, statuses, dataInicio, dataFim), where), params);
+    }
 
-        if (dataInicio != null) {
-            query.append(" AND b.vencimento >= :dataInicio");
-            params.put("dataInicio", dataInicio);
-        }
+    /**
+     * Paginação por keyset: busca os boletos após (cursorValue, cursorId) na ordem
+     * (sortProperty, id), sem OFFSET. Sem cursor retorna a primeira página.
+     */
+    public List<BoletoProjection> findByUserIdAfterCursor(
+            Long userId,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            String sortProperty,
+            boolean desc,
+            Object cursorValue,
+            Long cursorId,
+            int limit) {
 
-        if (dataFim != null) {
-            query.append(" AND b.vencimento <= :dataFim");
-            params.put("dataFim", dataFim);
-        }
+        Params params = new Params();
+        String where = BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim)
+                + BoletoSql.afterCursor(params, sortProperty, desc, cursorValue, cursorId);
+        boolean arquivo = includesArchive(userId, statuses, dataInicio, dataFim);
+        return nativeProjection(BoletoSql.from(arquivo, where) + BoletoSql.orderBy(sortProperty, desc), params, 0, limit);
+    }
+
+    /**
+     * Busca por fornecedor/observações, ordenada por relevância. No PostgreSQL casa por
+     * substring ou similaridade de palavra (pg_trgm, índice GIN em (user_id, busca)); no H2
+     * cada palavra do termo precisa aparecer no texto, do mais recente ao mais antigo.
+     * O termo já deve estar normalizado (BoletoEntity.normalizarBusca).
+     */
+    @SuppressWarnings("unchecked")
+    public List<BoletoProjection> searchByUserId(
+            Long userId,
+            String termo,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            int pageIndex,
+            int pageSize) {
 
-        io.quarkus.panache.common.Sort sort = io.quarkus.panache.common.Sort.by("b." + sortBy);
-        if ("desc".equalsIgnoreCase(direction)) {
-            sort = sort.descending();
-        } else {
-            sort = sort.ascending();
+        Params params = new Params();
+        StringBuilder where = new StringBuilder(BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim));
+        String orderBy = appendSearch(where, params, termo);
+
+        if (includesArchive(userId, statuses, dataInicio, dataFim)) {
+            return nativeProjection(BoletoSql.from(true, where.toString()) + orderBy, params, pageIndex * pageSize, pageSize);
         }
 
-        List<BoletoEntity> results = find(query.toString(), sort, params)
-                .page(pageIndex, pageSize)
-                .list();
+        Query ids = getEntityManager().createNativeQuery("SELECT b.id FROM boletos b WHERE " + where + orderBy, Long.class);
+        params.bind(ids);
+        List<Long> ranking = ids
+                .setFirstResult(pageIndex * pageSize)
+                .setMaxResults(pageSize)
+                .getResultList();
 
-        EntityManager em = getEntityManager();
-        results.forEach(em::detach);
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
 
-        return results;
+        // Só a página é projetada; a ordem de relevância vem da consulta de ids
+        List<BoletoProjection> boletos = getEntityManager()
+                .createQuery(SELECT_PROJECTION + " WHERE b.id IN :ids", BoletoProjection.class)
+                .setParameter("ids", ranking)
+                .getResultList();
+        boletos.sort(Comparator.comparingInt(boleto -> ranking.indexOf(boleto.id())));
+        return boletos;
     }
 
-    public long countByUserIdWithFilters(
+    public long countSearchByUserId(
             Long userId,
+            String termo,
             List<BoletoStatus> statuses,
+            Long categoriaId,
             LocalDate dataInicio,
             LocalDate dataFim) {
 
-        Map<String, Object> params = new HashMap<>();
-        params.put("userId", userId);
+        Params params = new Params();
+        StringBuilder where = new StringBuilder(BoletoSql.filters(params, userId, statuses, categoriaId, dataInicio, dataFim));
+        appendSearch(where, params, termo);
+        return count(BoletoSql.from(includesArchive(userId, statuses, dataInicio, dataFim), where.toString()), params);
+    }
 
-        StringBuilder query = new StringBuilder("SELECT COUNT(b) FROM BoletoEntity b WHERE b.user.id = :userId");
+    /**
+     * Maior vencimento arquivado do usuário; vazio quando nada foi arquivado
+     */
+    public Optional<LocalDate> findArchivedUntil(Long userId) {
+        Object max = getEntityManager()
+                .createNativeQuery(BoletoSql.MAX_ARQUIVADO + ":userId")
+                .setParameter("userId", userId)
+                .getSingleResult();
+        return Optional.ofNullable(toLocalDate(max));
+    }
 
-        if (statuses != null && !statuses.isEmpty()) {
-            query.append(" AND b.status IN :statuses");
-            params.put("statuses", statuses);
-        }
+    public List<BoletoProjection> findPendingBoletosNearDueDate(LocalDate minDate, LocalDate maxDate) {
+        return getEntityManager().createQuery(SELECT_PROJECTION + """
+            WHERE b.status = :status
+              AND b.vencimento <= :maxDate
+              AND b.vencimento >= :minDate
+            """, BoletoProjection.class)
+                .setParameter("status", BoletoStatus.PENDENTE)
+                .setParameter("maxDate", maxDate)
+                .setParameter("minDate", minDate)
+                .getResultList();
+    }
 
-        if (dataInicio != null) {
-            query.append(" AND b.vencimento >= :dataInicio");
-            params.put("dataInicio", dataInicio);
-        }
+    /**
+     * Trava o próximo bloco de boletos pendentes já vencidos com id maior que afterId,
+     * em ordem de id. Retorna [id, user_id, categoria_id, vencimento, valor]. Linhas alteradas por outra
+     * instância enquanto aguardava o lock deixam de atender ao filtro e não retornam.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> lockOverdueChunk(long afterId, LocalDate today, int limit) {
+        return getEntityManager().createNativeQuery("""
+            SELECT id, user_id, categoria_id, vencimento, valor FROM boletos
+            WHERE id > ?1
+              AND status = ?2
+              AND vencimento < ?3
+            ORDER BY id
+            FETCH FIRST ?4 ROWS ONLY
+            FOR UPDATE
+            """)
+                .setParameter(1, afterId)
+                .setParameter(2, BoletoStatus.PENDENTE.name())
+                .setParameter(3, today)
+                .setParameter(4, limit)
+                .getResultList();
+    }
 
-        if (dataFim != null) {
-            query.append(" AND b.vencimento <= :dataFim");
-            params.put("dataFim", dataFim);
-        }
+    /**
+     * Marca como vencidos os boletos informados que ainda estejam pendentes; retorna quantos mudaram
+     */
+    public int markOverdue(Collection<Long> ids, LocalDateTime now) {
+        return update("status = ?1, updatedAt = ?2 WHERE id IN ?3 AND status = ?4",
+                BoletoStatus.VENCIDO, now, ids, BoletoStatus.PENDENTE);
+    }
 
-        return count(query.toString(), params);
+    /**
+     * Trava o próximo bloco de boletos pagos com vencimento anterior a before e id maior que
+     * afterId, em ordem de id. Retorna [id, user_id, categoria_id], como lockOverdueChunk.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> lockArchivableChunk(long afterId, LocalDate before, int limit) {
+        return getEntityManager().createNativeQuery("""
+            SELECT id, user_id, categoria_id FROM boletos
+            WHERE id > ?1
+              AND status = ?2
+              AND vencimento < ?3
+            ORDER BY id
+            FETCH FIRST ?4 ROWS ONLY
+            FOR UPDATE
+            """)
+                .setParameter(1, afterId)
+                .setParameter(2, BoletoStatus.PAGO.name())
+                .setParameter(3, before)
+                .setParameter(4, limit)
+                .getResultList();
     }
 
-    public List<BoletoEntity> findOverdueBoletosByUserId(Long userId) {
-        List<BoletoEntity> results = find("""
+    /**
+     * Copia os boletos informados para boletos_archive e os remove da tabela quente;
+     * retorna quantos foram movidos. Exige a transação de quem travou as linhas.
+     */
+    public int archive(Collection<Long> ids) {
+        getEntityManager().createNativeQuery("""
+            INSERT INTO boletos_archive (id, user_id, categoria_id, fornecedor, valor, vencimento,
+                codigo_barras, codigo_barras_normalizado, status, comprovante_url, sem_comprovante,
+                observacoes, busca, created_at, updated_at)
+            SELECT id, user_id, categoria_id, fornecedor, valor, vencimento,
+                codigo_barras, codigo_barras_normalizado, status, comprovante_url, sem_comprovante,
+                observacoes, busca, created_at, updated_at
+            FROM boletos
+            WHERE id IN (:ids)
+            """)
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        return getEntityManager().createNativeQuery("DELETE FROM boletos WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * Busca o boleto do usuário por qualquer uma das formas normalizadas do código de barras
+     */
+    public Optional<BoletoEntity> findByUserIdAndCodigoBarrasNormalizado(Long userId, Collection<String> codigos) {
+        return find("""
             SELECT b FROM BoletoEntity b
             LEFT JOIN FETCH b.categoria
             WHERE b.user.id = ?1
-              AND b.status = 'PENDENTE'
-              AND b.vencimento < CURRENT_DATE
-            """, userId).list();
-
-        EntityManager em = getEntityManager();
-        results.forEach(em::detach);
-
-        return results;
+              AND b.codigoBarrasNormalizado IN ?2
+            ORDER BY b.id
+            """, userId, codigos).firstResultOptional();
     }
 
-    public List<BoletoEntity> findPendingBoletosNearDueDate(LocalDate minDate, LocalDate maxDate) {
-        List<BoletoEntity> results = find("""
+    /**
+     * Boletos do usuário com qualquer um dos códigos normalizados informados (busca em lote)
+     */
+    public List<BoletoEntity> findAllByUserIdAndCodigoBarrasNormalizado(Long userId, Collection<String> codigos) {
+        return find("""
             SELECT b FROM BoletoEntity b
             LEFT JOIN FETCH b.categoria
-            WHERE b.status = 'PENDENTE'
-              AND b.vencimento <= ?1
-              AND b.vencimento >= ?2
-            """, maxDate, minDate).list();
+            WHERE b.user.id = ?1
+              AND b.codigoBarrasNormalizado IN ?2
+            """, userId, codigos).list();
+    }
+
+    /**
+     * Boletos arquivados do usuário com qualquer um dos códigos normalizados informados,
+     * por código normalizado. O arquivo não tem o índice único da tabela quente, mas só
+     * recebe linhas que já eram únicas nela.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, BoletoProjection> findArchivedByUserIdAndCodigoBarrasNormalizado(Long userId, Collection<String> codigos) {
+        List<Object[]> rows = getEntityManager().createNativeQuery(BoletoSql.SELECT + """
+            , b.codigo_barras_normalizado
+            FROM boletos_archive b
+            LEFT JOIN categorias c ON c.id = b.categoria_id
+            WHERE b.user_id = :userId
+              AND b.codigo_barras_normalizado IN (:codigos)
+            ORDER BY b.id
+            """)
+                .setParameter("userId", userId)
+                .setParameter("codigos", codigos)
+                .getResultList();
+
+        Map<String, BoletoProjection> boletos = new HashMap<>();
+        for (Object[] row : rows) {
+            boletos.putIfAbsent((String) row[15], toProjection(row));
+        }
+        return boletos;
+    }
 
-        EntityManager em = getEntityManager();
-        results.forEach(em::detach);
+    /**
+     * Condição da busca por texto; retorna o ORDER BY de relevância. No H2, sem pg_trgm,
+     * cada palavra do termo precisa aparecer no texto.
+     */
+    private String appendSearch(StringBuilder where, Params params, String termo) {
+        if (isPostgres()) {
+            return BoletoSql.orderBySimilarity(BoletoSql.appendSearch(where, params, termo));
+        }
 
-        return results;
+        for (String palavra : termo.split(" ")) {
+            where.append(" AND b.busca LIKE ").append(params.add("%" + palavra + "%"));
+        }
+        return " ORDER BY b.id DESC";
+    }
+
+    /**
+     * O arquivo entra na consulta só quando o filtro de datas alcança o maior vencimento
+     * arquivado do usuário e os status incluem PAGO; caso contrário, apenas a tabela quente
+     */
+    private boolean includesArchive(Long userId, List<BoletoStatus> statuses, LocalDate dataInicio, LocalDate dataFim) {
+        return BoletoSql.mayReachArchive(statuses, dataInicio, dataFim)
+                && BoletoSql.reachesArchive(dataInicio, findArchivedUntil(userId).orElse(null));
+    }
+
+    private long count(String from, Params params) {
+        Query count = getEntityManager().createNativeQuery("SELECT COUNT(*)" + from);
+        params.bind(count);
+        return ((Number) count.getSingleResult()).longValue();
+    }
+
+    /**
+     * Listagem em SQL nativo (BoletoSql.SELECT + fromAndOrder), convertida para a projeção
+     */
+    @SuppressWarnings("unchecked")
+    private List<BoletoProjection> nativeProjection(String fromAndOrder, Params params, int first, int max) {
+        Query query = getEntityManager().createNativeQuery(BoletoSql.SELECT + fromAndOrder);
+        params.bind(query);
+        List<Object[]> rows = query
+                .setFirstResult(first)
+                .setMaxResults(max)
+                .getResultList();
+        return rows.stream().map(BoletoRepository::toProjection).toList();
+    }
+
+    private static BoletoProjection toProjection(Object[] row) {
+        return new BoletoProjection(
+                toLong(row[0]),
+                toLong(row[1]),
+                (String) row[2],
+                (BigDecimal) row[3],
+                toLocalDate(row[4]),
+                (String) row[5],
+                BoletoStatus.valueOf((String) row[6]),
+                (String) row[7],
+                (Boolean) row[8],
+                (String) row[9],
+                toLocalDateTime(row[10]),
+                toLocalDateTime(row[11]),
+                toLong(row[12]),
+                (String) row[13],
+                (String) row[14]);
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private boolean isPostgres() {
+        return "postgresql".equals(dbKind);
+    }
+
+    /**
+     * Parâmetros nomeados (:p1, :p2, ...) das consultas nativas
+     */
+    private static final class Params extends BoletoSql.Params {
+
+        @Override
+        String placeholder(int index) {
+            return ":p" + index;
+        }
+
+        @Override
+        String in(String coluna, List<String> valores) {
+            return coluna + " IN (" + add(valores) + ")";
+        }
+
+        void bind(Query query) {
+            for (int i = 0; i < values.size(); i++) {
+                query.setParameter("p" + (i + 1), values.get(i));
+            }
+        }
     }
-}
\ No newline at end of file
+}
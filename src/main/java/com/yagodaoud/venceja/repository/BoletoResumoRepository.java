@@ -0,0 +1,130 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.entity.BoletoResumoEntity;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para o resumo diário de boletos
+ */
+@ApplicationScoped
+public class BoletoResumoRepository implements PanacheRepositoryBase<BoletoResumoEntity, BoletoResumoEntity.Key> {
+
+    // Upsert atômico, como em BoletoContadorRepository
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO boleto_resumo_diario (user_id, dia, status, categoria_id, quantidade, valor)
+            VALUES (?1, ?2, ?3, ?4, ?5, ?6)
+            ON CONFLICT (user_id, dia, status, categoria_id)
+            DO UPDATE SET quantidade = boleto_resumo_diario.quantidade + EXCLUDED.quantidade,
+                          valor = boleto_resumo_diario.valor + EXCLUDED.valor
+            """;
+
+    private static final String UPSERT_MERGE = """
+            MERGE INTO boleto_resumo_diario t
+            USING (VALUES (CAST(?1 AS BIGINT), CAST(?2 AS DATE), CAST(?3 AS VARCHAR(20)), CAST(?4 AS BIGINT),
+                           CAST(?5 AS BIGINT), CAST(?6 AS DECIMAL(14, 2))))
+                AS s (user_id, dia, status, categoria_id, quantidade, valor)
+            ON t.user_id = s.user_id AND t.dia = s.dia AND t.status = s.status AND t.categoria_id = s.categoria_id
+            WHEN MATCHED THEN UPDATE SET quantidade = t.quantidade + s.quantidade, valor = t.valor + s.valor
+            WHEN NOT MATCHED THEN INSERT (user_id, dia, status, categoria_id, quantidade, valor)
+                VALUES (s.user_id, s.dia, s.status, s.categoria_id, s.quantidade, s.valor)
+            """;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public void increment(Long userId, LocalDate dia, BoletoStatus status, long categoriaId,
+                          long quantidade, BigDecimal valor) {
+        getEntityManager()
+                .createNativeQuery("postgresql".equals(dbKind) ? UPSERT_POSTGRES : UPSERT_MERGE)
+                .setParameter(1, userId)
+                .setParameter(2, dia)
+                .setParameter(3, status.name())
+                .setParameter(4, categoriaId)
+                .setParameter(5, quantidade)
+                .setParameter(6, valor)
+                .executeUpdate();
+    }
+
+    /**
+     * [quantidade, valor] dos boletos nos status informados com vencimento entre de e ate
+     * (limites opcionais e inclusivos)
+     */
+    public Object[] sum(Long userId, Collection<BoletoStatus> statuses, LocalDate de, LocalDate ate) {
+        StringBuilder query = new StringBuilder("""
+                SELECT COALESCE(SUM(r.quantidade), 0), COALESCE(SUM(r.valor), 0)
+                FROM BoletoResumoEntity r
+                WHERE r.userId = :userId AND r.status IN :statuses
+                """);
+        if (de != null) {
+            query.append(" AND r.dia >= :de");
+        }
+        if (ate != null) {
+            query.append(" AND r.dia <= :ate");
+        }
+
+        TypedQuery<Object[]> typed = getEntityManager().createQuery(query.toString(), Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("statuses", statuses);
+        if (de != null) {
+            typed.setParameter("de", de);
+        }
+        if (ate != null) {
+            typed.setParameter("ate", ate);
+        }
+        return typed.getSingleResult();
+    }
+
+    /**
+     * [categoriaId, quantidade, valor] por categoria dos boletos nos status informados
+     */
+    public List<Object[]> sumByCategoria(Long userId, Collection<BoletoStatus> statuses) {
+        return getEntityManager().createQuery("""
+                SELECT r.categoriaId, SUM(r.quantidade), SUM(r.valor)
+                FROM BoletoResumoEntity r
+                WHERE r.userId = :userId AND r.status IN :statuses
+                GROUP BY r.categoriaId
+                HAVING SUM(r.quantidade) > 0
+                ORDER BY SUM(r.valor) DESC
+                """, Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("statuses", statuses)
+                .getResultList();
+    }
+
+    public List<BoletoResumoEntity> findByUserIdAndCategoriaId(Long userId, long categoriaId) {
+        return list("userId = ?1 and categoriaId = ?2", userId, categoriaId);
+    }
+
+    public long deleteByUserIdAndCategoriaId(Long userId, long categoriaId) {
+        return delete("userId = ?1 and categoriaId = ?2", userId, categoriaId);
+    }
+
+    /**
+     * Recalcula as linhas do usuário a partir dos boletos, arquivados inclusive: o resumo
+     * cobre todo o histórico, não só a tabela quente
+     */
+    public int rebuild(Long userId) {
+        delete("userId", userId);
+        return getEntityManager().createNativeQuery("""
+                INSERT INTO boleto_resumo_diario (user_id, dia, status, categoria_id, quantidade, valor)
+                SELECT user_id, vencimento, status, COALESCE(categoria_id, 0), COUNT(*), SUM(valor)
+                FROM (
+                    SELECT user_id, vencimento, status, categoria_id, valor FROM boletos WHERE user_id = ?1
+                    UNION ALL
+                    SELECT user_id, vencimento, status, categoria_id, valor FROM boletos_archive WHERE user_id = ?1
+                ) b
+                GROUP BY user_id, vencimento, status, COALESCE(categoria_id, 0)
+                """)
+                .setParameter(1, userId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,183 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.entity.BoletoStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL nativo das listagens de boletos, comum ao BoletoRepository e ao BoletoReactiveRepository:
+ * filtros, cursor, busca e ordenação (com a lista de colunas aceitas e o desempate por id) são
+ * montados só aqui. Cada repositório fornece apenas a forma dos parâmetros (Params).
+ * Quando o arquivo entra na consulta, boletos e boletos_archive são unidos em uma subconsulta
+ * com o mesmo alias (b): filtros, cursor e ordenação são escritos uma vez para as duas formas.
+ */
+final class BoletoSql {
+
+    // Colunas na ordem do construtor de BoletoProjection
+    static final String SELECT = """
+        SELECT b.id, b.user_id, b.fornecedor, b.valor, b.vencimento, b.codigo_barras, b.status,
+               b.comprovante_url, b.sem_comprovante, b.observacoes, b.created_at, b.updated_at,
+               c.id AS categoria_id, c.nome AS categoria_nome, c.cor AS categoria_cor
+    """;
+
+    static final String MAX_ARQUIVADO = "SELECT MAX(vencimento) FROM boletos_archive WHERE user_id = ";
+
+    private static final String COLUNAS_UNIAO = """
+        b.id, b.user_id, b.categoria_id, b.fornecedor, b.valor, b.vencimento, b.codigo_barras,
+        b.status, b.comprovante_url, b.sem_comprovante, b.observacoes, b.busca, b.created_at, b.updated_at
+    """;
+
+    // Propriedades aceitas na ordenação e suas colunas
+    private static final Map<String, String> COLUNAS = Map.of(
+            "id", "id",
+            "vencimento", "vencimento",
+            "valor", "valor",
+            "fornecedor", "fornecedor",
+            "status", "status",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private BoletoSql() {
+    }
+
+    /**
+     * Parâmetros na ordem em que aparecem na consulta; o placeholder e a condição de lista
+     * dependem do cliente (nomeados no Hibernate, posicionais no cliente reativo)
+     */
+    abstract static class Params {
+
+        final List<Object> values = new ArrayList<>();
+
+        /**
+         * Registra o valor e retorna seu placeholder
+         */
+        String add(Object value) {
+            values.add(value instanceof BoletoStatus status ? status.name() : value);
+            return placeholder(values.size());
+        }
+
+        abstract String placeholder(int index);
+
+        /**
+         * Condição "coluna pertence a valores"
+         */
+        abstract String in(String coluna, List<String> valores);
+    }
+
+    /**
+     * Condição WHERE (sem a palavra-chave) com o usuário e os filtros da listagem
+     */
+    static String filters(
+            Params params,
+            Long userId,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim) {
+
+        StringBuilder where = new StringBuilder("b.user_id = ").append(params.add(userId));
+
+        if (statuses != null && !statuses.isEmpty()) {
+            where.append(" AND ").append(params.in("b.status", statuses.stream().map(BoletoStatus::name).toList()));
+        }
+
+        if (categoriaId != null) {
+            where.append(" AND b.categoria_id = ").append(params.add(categoriaId));
+        }
+
+        if (dataInicio != null) {
+            where.append(" AND b.vencimento >= ").append(params.add(dataInicio));
+        }
+
+        if (dataFim != null) {
+            where.append(" AND b.vencimento <= ").append(params.add(dataFim));
+        }
+        return where.toString();
+    }
+
+    /**
+     * Condição do keyset (após (cursorValue, cursorId) na ordem da listagem); vazia sem cursor
+     */
+    static String afterCursor(Params params, String sortProperty, boolean desc, Object cursorValue, Long cursorId) {
+        if (cursorId == null) {
+            return "";
+        }
+
+        String coluna = coluna(sortProperty);
+        String op = desc ? " < " : " > ";
+        if ("id".equals(coluna)) {
+            return " AND b.id" + op + params.add(cursorId);
+        }
+        // Comparação de tupla: o índice (user_id, coluna, id) é percorrido a partir do cursor
+        return " AND (b." + coluna + ", b.id)" + op
+                + "(" + params.add(cursorValue) + ", " + params.add(cursorId) + ")";
+    }
+
+    /**
+     * ORDER BY da listagem: coluna da lista aceita, com desempate por id na mesma direção
+     */
+    static String orderBy(String sortProperty, boolean desc) {
+        String coluna = coluna(sortProperty);
+        String direction = desc ? " DESC" : " ASC";
+        if ("id".equals(coluna)) {
+            return " ORDER BY b.id" + direction;
+        }
+        return " ORDER BY b." + coluna + direction + ", b.id" + direction;
+    }
+
+    /**
+     * Condição da busca por trigramas (PostgreSQL); LIKE e <% usam o mesmo índice.
+     * Retorna o placeholder do termo para orderBySimilarity.
+     */
+    static String appendSearch(StringBuilder where, Params params, String termo) {
+        String termoParam = params.add(termo);
+        where.append(" AND (b.busca LIKE ").append(params.add("%" + termo + "%"))
+                .append(" OR ").append(termoParam).append(" <% b.busca)");
+        return termoParam;
+    }
+
+    static String orderBySimilarity(String termoParam) {
+        return " ORDER BY word_similarity(" + termoParam + ", b.busca) DESC, b.id DESC";
+    }
+
+    /**
+     * FROM/WHERE da listagem; com arquivo, a condição é aplicada nas duas tabelas antes da união
+     */
+    static String from(boolean arquivo, String where) {
+        if (!arquivo) {
+            return " FROM boletos b LEFT JOIN categorias c ON c.id = b.categoria_id WHERE " + where;
+        }
+        return " FROM (SELECT " + COLUNAS_UNIAO + " FROM boletos b WHERE " + where
+                + " UNION ALL SELECT " + COLUNAS_UNIAO + " FROM boletos_archive b WHERE " + where
+                + ") b LEFT JOIN categorias c ON c.id = b.categoria_id";
+    }
+
+    /**
+     * O arquivo só tem boletos pagos: filtros sem datas ou sem PAGO nunca o alcançam
+     */
+    static boolean mayReachArchive(List<BoletoStatus> statuses, LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null && dataFim == null) {
+            return false;
+        }
+        return statuses == null || statuses.isEmpty() || statuses.contains(BoletoStatus.PAGO);
+    }
+
+    /**
+     * Com o maior vencimento arquivado do usuário (null sem arquivo), indica se o período o alcança
+     */
+    static boolean reachesArchive(LocalDate dataInicio, LocalDate arquivadoAte) {
+        return arquivadoAte != null && (dataInicio == null || !dataInicio.isAfter(arquivadoAte));
+    }
+
+    static String coluna(String sortProperty) {
+        String coluna = COLUNAS.get(sortProperty);
+        if (coluna == null) {
+            throw new IllegalArgumentException("Ordenação não suportada: " + sortProperty
+                    + ". Valores aceitos: id, vencimento, valor, fornecedor, status, createdAt, updatedAt");
+        }
+        return coluna;
+    }
+}
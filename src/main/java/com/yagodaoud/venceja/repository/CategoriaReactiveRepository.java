@@ -0,0 +1,62 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.dto.CategoriaResponse;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listagem de categorias pelo cliente reativo do PostgreSQL (pool próprio, sem JDBC),
+ * na réplica quando configurada
+ */
+@ApplicationScoped
+public class CategoriaReactiveRepository {
+
+    @Inject
+    ReadReplicaRouter router;
+
+    @Inject
+    JdbcTimestamps timestamps;
+
+    /**
+     * Indica se o pool reativo existe (não existe no perfil dev, com H2)
+     */
+    public boolean available() {
+        return router.reactiveAvailable();
+    }
+
+    public Uni<List<CategoriaResponse>> findByUserId(Long userId, int pageIndex, int pageSize) {
+        return router.forUser(userId)
+                .preparedQuery("""
+                    SELECT id, nome, cor, created_at FROM categorias
+                    WHERE user_id = $1
+                    ORDER BY id
+                    LIMIT $2 OFFSET $3
+                    """)
+                .execute(Tuple.of(userId, pageSize, (long) pageIndex * pageSize))
+                .map(rows -> {
+                    List<CategoriaResponse> categorias = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        categorias.add(CategoriaResponse.builder()
+                                .id(row.getLong("id"))
+                                .nome(row.getString("nome"))
+                                .cor(row.getString("cor"))
+                                .createdAt(timestamps.fromDatabase(row.getLocalDateTime("created_at")))
+                                .build());
+                    }
+                    return categorias;
+                });
+    }
+
+    public Uni<Long> countByUserId(Long userId) {
+        return router.forUser(userId)
+                .preparedQuery("SELECT COUNT(*) FROM categorias WHERE user_id = $1")
+                .execute(Tuple.of(userId))
+                .map(rows -> rows.iterator().next().getLong(0));
+    }
+}
@@ -3,7 +3,9 @@ package com.yagodaoud.venceja.repository;
 import com.yagodaoud.venceja.entity.CategoriaEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,11 +14,34 @@ import java.util.List;
 @ApplicationScoped
 public class CategoriaRepository implements PanacheRepository<CategoriaEntity> {
 
+    /**
+     * Região do cache de consultas das categorias por usuário. O Hibernate descarta os
+     * resultados sempre que a tabela categorias é alterada por esta aplicação.
+     */
+    public static final String CACHE_REGION_POR_USUARIO = "categorias-por-usuario";
+
+    /**
+     * Categorias do usuário em ordem de id, a mesma do CategoriaReactiveRepository.
+     * Atende a listagem quando não há pool reativo.
+     */
     public List<CategoriaEntity> findByUserId(Long userId, int pageIndex, int pageSize) {
-        return find("user.id", userId).page(pageIndex, pageSize).list();
+        return find("user.id = ?1 ORDER BY id", userId)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CACHE_REGION_POR_USUARIO)
+                .page(pageIndex, pageSize)
+                .list();
     }
 
     public long countByUserId(Long userId) {
-        return count("user.id", userId);
+        return getEntityManager()
+                .createQuery("SELECT COUNT(c) FROM CategoriaEntity c WHERE c.user.id = :userId", Long.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, CACHE_REGION_POR_USUARIO)
+                .getSingleResult();
+    }
+
+    public List<CategoriaEntity> findByIds(Collection<Long> ids) {
+        return list("id in ?1", ids);
     }
 }
@@ -0,0 +1,48 @@
+package com.yagodaoud.venceja.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Conversão de colunas TIMESTAMP no cliente reativo. O Hibernate grava e lê essas colunas no
+ * fuso quarkus.hibernate-orm.jdbc.timezone; o cliente reativo entrega o valor da coluna sem
+ * conversão, então as leituras reativas precisam do mesmo ajuste para devolver o mesmo horário.
+ */
+@ApplicationScoped
+public class JdbcTimestamps {
+
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.timezone")
+    Optional<String> timezone;
+
+    private ZoneId zone;
+
+    @PostConstruct
+    public void init() {
+        zone = timezone.map(ZoneId::of).orElse(null);
+    }
+
+    /**
+     * Valor lido da coluna para o horário local da JVM, como o Hibernate o entregaria
+     */
+    public LocalDateTime fromDatabase(LocalDateTime value) {
+        if (value == null || zone == null) {
+            return value;
+        }
+        return value.atZone(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    /**
+     * Horário local da JVM para o valor gravado na coluna (parâmetros de consulta)
+     */
+    public LocalDateTime toDatabase(LocalDateTime value) {
+        if (value == null || zone == null) {
+            return value;
+        }
+        return value.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDateTime();
+    }
+}
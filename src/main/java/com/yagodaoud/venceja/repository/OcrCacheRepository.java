@@ -0,0 +1,57 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.entity.OcrCacheEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositório para o cache persistente de OCR
+ */
+@ApplicationScoped
+public class OcrCacheRepository implements PanacheRepositoryBase<OcrCacheEntity, String> {
+
+    // Upsert atômico: o mesmo arquivo processado em paralelo não pode disputar o INSERT
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO ocr_cache (content_hash, texto, created_at)
+            VALUES (?1, ?2, ?3)
+            ON CONFLICT (content_hash)
+            DO UPDATE SET texto = EXCLUDED.texto, created_at = EXCLUDED.created_at
+            """;
+
+    private static final String UPSERT_MERGE = """
+            MERGE INTO ocr_cache t
+            USING (VALUES (CAST(?1 AS VARCHAR(64)), CAST(?2 AS CLOB), CAST(?3 AS TIMESTAMP)))
+                AS s (content_hash, texto, created_at)
+            ON t.content_hash = s.content_hash
+            WHEN MATCHED THEN UPDATE SET texto = s.texto, created_at = s.created_at
+            WHEN NOT MATCHED THEN INSERT (content_hash, texto, created_at)
+                VALUES (s.content_hash, s.texto, s.created_at)
+            """;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public Optional<OcrCacheEntity> findValidByHash(String contentHash, LocalDateTime minCreatedAt) {
+        return find("contentHash = ?1 and createdAt >= ?2", contentHash, minCreatedAt).firstResultOptional();
+    }
+
+    /**
+     * Grava ou substitui o texto do hash
+     */
+    public void upsert(String contentHash, String texto, LocalDateTime createdAt) {
+        getEntityManager()
+                .createNativeQuery("postgresql".equals(dbKind) ? UPSERT_POSTGRES : UPSERT_MERGE)
+                .setParameter(1, contentHash)
+                .setParameter(2, texto)
+                .setParameter(3, createdAt)
+                .executeUpdate();
+    }
+
+    public long deleteExpired(LocalDateTime minCreatedAt) {
+        return delete("createdAt < ?1", minCreatedAt);
+    }
+}
@@ -0,0 +1,154 @@
+package com.yagodaoud.venceja.repository;
+
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Escolhe o pool reativo das leituras: réplica (datasource "replica") ou primário.
+ * Depois de uma escrita do próprio usuário, as leituras dele vão ao primário por
+ * replica.read-your-writes-ms, tempo para a réplica aplicar a transação. O registro é
+ * local à instância, então a réplica só é usada com replica.single-instance: uma única
+ * instância, ou sessões fixas por usuário no balanceador. Sem isso, uma leitura atendida
+ * por outra instância não saberia da escrita e poderia ler a réplica atrasada.
+ */
+@Slf4j
+@ApplicationScoped
+public class ReadReplicaRouter {
+
+    @Inject
+    Instance<Pool> primary;
+
+    @Inject
+    @ReactiveDataSource("replica")
+    Instance<Pool> replica;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    // Sem URL reativa (DATABASE_REACTIVE_URL) as leituras ficam no JDBC
+    @ConfigProperty(name = "quarkus.datasource.reactive.url")
+    Optional<String> reactiveUrl;
+
+    @ConfigProperty(name = "replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "replica.single-instance", defaultValue = "false")
+    boolean singleInstance;
+
+    @ConfigProperty(name = "replica.read-your-writes-ms", defaultValue = "5000")
+    long readYourWritesMs;
+
+    @ConfigProperty(name = "replica.blocking-timeout-ms", defaultValue = "5000")
+    long blockingTimeoutMs;
+
+    // userId -> instante até o qual as leituras do usuário vão ao primário
+    private final Map<Long, Long> recentWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Indica se há pool reativo configurado (não há no perfil dev, com H2, nem sem
+     * DATABASE_REACTIVE_URL)
+     */
+    public boolean reactiveAvailable() {
+        return primary.isResolvable() && reactiveUrl.isPresent();
+    }
+
+    public boolean replicaEnabled() {
+        return enabled && singleInstance && reactiveAvailable() && replica.isResolvable();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled && !singleInstance) {
+            log.warn("replica.enabled ignorado: o read-your-writes é local à instância e exige "
+                    + "replica.single-instance=true (uma instância ou sessões fixas por usuário)");
+        }
+    }
+
+    /**
+     * Indica se as leituras do usuário podem ir à réplica agora
+     */
+    public boolean readsFromReplica(Long userId) {
+        if (!replicaEnabled()) {
+            return false;
+        }
+        Long until = recentWrites.get(userId);
+        return until == null || until < System.currentTimeMillis();
+    }
+
+    /**
+     * Pool para leituras do usuário
+     */
+    public Pool forUser(Long userId) {
+        return readsFromReplica(userId) ? replica.get() : primary.get();
+    }
+
+    /**
+     * Pool para varreduras sem usuário (jobs agendados)
+     */
+    public Pool forScan() {
+        return replicaEnabled() ? replica.get() : primary.get();
+    }
+
+    public Pool primary() {
+        return primary.get();
+    }
+
+    /**
+     * Aguarda uma leitura reativa em código bloqueante (worker threads e jobs, nunca no event loop)
+     */
+    public <T> T await(Uni<T> leitura) {
+        return leitura.await().atMost(Duration.ofMillis(blockingTimeoutMs));
+    }
+
+    /**
+     * Registra uma escrita do usuário. A janela é renovada ao fim da transação atual,
+     * para que uma transação longa não consuma o tempo da réplica.
+     */
+    public void registerWrite(Long userId) {
+        if (!replicaEnabled()) {
+            return;
+        }
+
+        markPrimary(userId);
+        if (transactionRegistry.getTransactionKey() != null) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        markPrimary(userId);
+                    }
+                }
+            });
+        }
+    }
+
+    @Scheduled(every = "1m", delayed = "1m")
+    public void pruneRecentWrites() {
+        long now = System.currentTimeMillis();
+        recentWrites.values().removeIf(until -> until < now);
+    }
+
+    private void markPrimary(Long userId) {
+        recentWrites.put(userId, System.currentTimeMillis() + readYourWritesMs);
+    }
+}
@@ -0,0 +1,54 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.entity.RefreshTokenEntity;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura de refresh tokens pelo cliente reativo, na réplica quando configurada
+ */
+@ApplicationScoped
+public class RefreshTokenReactiveRepository {
+
+    @Inject
+    ReadReplicaRouter router;
+
+    @Inject
+    JdbcTimestamps timestamps;
+
+    /**
+     * Tokens ativos do usuário, como RefreshTokenRepository.findActiveTokensByUserId.
+     * As entidades retornadas não são gerenciadas e não trazem o usuário.
+     */
+    public Uni<List<RefreshTokenEntity>> findActiveByUserId(Long userId, LocalDateTime now) {
+        return router.forUser(userId)
+                .preparedQuery("""
+                    SELECT id, token, expires_at, created_at, revoked, device_info FROM refresh_tokens
+                    WHERE user_id = $1
+                      AND revoked = false
+                      AND expires_at > $2
+                    """)
+                .execute(Tuple.of(userId, timestamps.toDatabase(now)))
+                .map(rows -> {
+                    List<RefreshTokenEntity> tokens = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        tokens.add(RefreshTokenEntity.builder()
+                                .id(row.getLong("id"))
+                                .token(row.getString("token"))
+                                .expiresAt(timestamps.fromDatabase(row.getLocalDateTime("expires_at")))
+                                .createdAt(timestamps.fromDatabase(row.getLocalDateTime("created_at")))
+                                .revoked(row.getBoolean("revoked"))
+                                .deviceInfo(row.getString("device_info"))
+                                .build());
+                    }
+                    return tokens;
+                });
+    }
+}
@@ -0,0 +1,104 @@
+package com.yagodaoud.venceja.repository;
+
+import com.yagodaoud.venceja.entity.ScanJobEntity;
+import com.yagodaoud.venceja.entity.ScanJobStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para jobs de scan assíncrono
+ */
+@ApplicationScoped
+public class ScanJobRepository implements PanacheRepositoryBase<ScanJobEntity, String> {
+
+    public Optional<ScanJobEntity> findByIdAndUserId(String id, Long userId) {
+        return find("id = ?1 and user.id = ?2", id, userId).firstResultOptional();
+    }
+
+    /**
+     * Marca o job como em processamento apenas se ainda estiver pendente.
+     * Retorna false se outro worker (ou outra instância) já o assumiu.
+     */
+    public boolean claim(String id, LocalDateTime now) {
+        return update("status = ?1, startedAt = ?2, attempts = attempts + 1 where id = ?3 and status = ?4",
+                ScanJobStatus.PROCESSANDO, now, id, ScanJobStatus.PENDENTE) == 1;
+    }
+
+    public List<String> findPendingIds(int limit) {
+        return getEntityManager()
+                .createQuery("SELECT j.id FROM ScanJobEntity j WHERE j.status = :status ORDER BY j.createdAt", String.class)
+                .setParameter("status", ScanJobStatus.PENDENTE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<ScanJobEntity> findStale(LocalDateTime startedBefore) {
+        return list("status = ?1 and startedAt < ?2", ScanJobStatus.PROCESSANDO, startedBefore);
+    }
+
+    /**
+     * Grava o arquivo do job em scan_job_files (removido com o job, ON DELETE CASCADE),
+     * enviado ao banco como stream, sem carregar o arquivo inteiro no heap
+     */
+    public void saveFile(String jobId, Path file) {
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (InputStream input = Files.newInputStream(file);
+                 PreparedStatement statement = connection.prepareStatement(
+                         "INSERT INTO scan_job_files (job_id, content) VALUES (?, ?)")) {
+                statement.setString(1, jobId);
+                statement.setBinaryStream(2, input, Files.size(file));
+                statement.executeUpdate();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Copia o arquivo do job para target; false se o job não tiver arquivo
+     */
+    public boolean copyFile(String jobId, Path target) {
+        return getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT content FROM scan_job_files WHERE job_id = ?")) {
+                statement.setString(1, jobId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    try (InputStream input = rs.getBinaryStream(1)) {
+                        Files.copy(input, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    return true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void deleteFile(String jobId) {
+        getEntityManager()
+                .createNativeQuery("DELETE FROM scan_job_files WHERE job_id = ?1")
+                .setParameter(1, jobId)
+                .executeUpdate();
+    }
+
+    public List<ScanJobEntity> findFinishedBefore(LocalDateTime completedBefore) {
+        return list("status in ?1 and completedAt < ?2",
+                List.of(ScanJobStatus.CONCLUIDO, ScanJobStatus.FALHA), completedBefore);
+    }
+}
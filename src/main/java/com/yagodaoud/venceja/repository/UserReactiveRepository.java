@@ -0,0 +1,31 @@
+package com.yagodaoud.venceja.repository;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Optional;
+
+/**
+ * Consultas de usuários pelo cliente reativo do PostgreSQL. Sempre no primário: um
+ * usuário recém-criado ainda pode não existir na réplica.
+ */
+@ApplicationScoped
+public class UserReactiveRepository {
+
+    @Inject
+    ReadReplicaRouter router;
+
+    public Uni<Optional<Long>> findIdByEmail(String email) {
+        return router.primary()
+                .preparedQuery("SELECT id FROM users WHERE email = $1")
+                .execute(Tuple.of(email))
+                .map(rows -> {
+                    RowIterator<Row> iterator = rows.iterator();
+                    return iterator.hasNext() ? Optional.of(iterator.next().getLong("id")) : Optional.<Long>empty();
+                });
+    }
+}
@@ -4,6 +4,7 @@ import com.yagodaoud.venceja.entity.UserEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,4 +20,25 @@ public class UserRepository implements PanacheRepository<UserEntity> {
     public boolean existsByEmail(String email) {
         return count("email", email) > 0;
     }
+
+    public List<Long> findAllIds() {
+        return getEntityManager()
+                .createQuery("SELECT u.id FROM UserEntity u ORDER BY u.id", Long.class)
+                .getResultList();
+    }
+
+    public Optional<Long> findIdByEmail(String email) {
+        return getEntityManager()
+                .createQuery("SELECT u.id FROM UserEntity u WHERE u.email = :email", Long.class)
+                .setParameter("email", email)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Proxy do usuário sem consulta ao banco
+     */
+    public UserEntity reference(Long id) {
+        return getEntityManager().getReference(UserEntity.class, id);
+    }
 }
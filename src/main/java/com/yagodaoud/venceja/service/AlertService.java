@@ -1,7 +1,9 @@
 package com.yagodaoud.venceja.service;
 
-import com.yagodaoud.venceja.entity.BoletoEntity;
+import com.yagodaoud.venceja.dto.BoletoProjection;
+import com.yagodaoud.venceja.repository.BoletoReactiveRepository;
 import com.yagodaoud.venceja.repository.BoletoRepository;
+import com.yagodaoud.venceja.repository.ReadReplicaRouter;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -21,6 +23,12 @@ public class AlertService {
     @Inject
     BoletoRepository boletoRepository;
 
+    @Inject
+    BoletoReactiveRepository boletoReactiveRepository;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
+
     /**
      * Agenda verificação diária às 9h para boletos próximos do vencimento (3 dias)
      * Cron: 0 0 9 * * ? (At 09:00:00am every day)
@@ -35,18 +43,19 @@ public class AlertService {
         LocalDate today = LocalDate.now();
         LocalDate maxDate = today.plusDays(3);
 
-        List<BoletoEntity> pendingBoletos = boletoRepository.findPendingBoletosNearDueDate(
-                today,
-                maxDate);
+        // A varredura lê todos os usuários: vai à réplica quando configurada
+        List<BoletoProjection> pendingBoletos = readReplicaRouter.replicaEnabled()
+                ? readReplicaRouter.await(boletoReactiveRepository.findPendingNearDueDate(today, maxDate))
+                : boletoRepository.findPendingBoletosNearDueDate(today, maxDate);
 
         log.info("Encontrados {} boletos próximos do vencimento", pendingBoletos.size());
 
-        for (BoletoEntity boleto : pendingBoletos) {
+        for (BoletoProjection boleto : pendingBoletos) {
             log.info("Alerta: Boleto ID {} - Fornecedor: {}, Vencimento: {}, Valor: R$ {}",
-                    boleto.getId(),
-                    boleto.getFornecedor(),
-                    boleto.getVencimento(),
-                    boleto.getValor());
+                    boleto.id(),
+                    boleto.fornecedor(),
+                    boleto.vencimento(),
+                    boleto.valor());
 
             // TODO: Implementar webhook para Expo/React Native
             // Por enquanto, apenas log
@@ -57,7 +57,7 @@ public class AuthService {
         }
 
         // Gera access token (JWT)
-        String accessToken = jwtService.generateToken(request.getEmail());
+        String accessToken = jwtService.generateToken(request.getEmail(), user.getId());
 
         // Gera refresh token
         RefreshTokenEntity refreshToken = refreshTokenService.createRefreshToken(
@@ -92,7 +92,7 @@ public class AuthService {
         );
 
         // Gera novo access token
-        String newAccessToken = jwtService.generateToken(refreshToken.getUser().getEmail());
+        String newAccessToken = jwtService.generateToken(refreshToken.getUser().getEmail(), refreshToken.getUser().getId());
 
         // Opcional: Rotação de refresh token (gera novo refresh token e revoga o antigo)
         RefreshTokenEntity newRefreshToken = refreshTokenService.createRefreshToken(
@@ -0,0 +1,120 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.repository.BoletoRepository;
+import com.yagodaoud.venceja.repository.ReadReplicaRouter;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Move boletos pagos com vencimento há mais de boletos.archive.after-days dias para
+ * boletos_archive, em blocos de ids consecutivos com transações curtas, como o
+ * BoletoOverdueService. Os contadores de listagem passam a contar só a tabela quente;
+ * o resumo diário mantém os arquivados.
+ */
+@Slf4j
+@ApplicationScoped
+public class BoletoArchiveService {
+
+    @Inject
+    BoletoRepository boletoRepository;
+
+    @Inject
+    BoletoContadorService boletoContadorService;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
+
+    @Inject
+    BoletoArchiveService self;
+
+    @ConfigProperty(name = "boletos.archive.after-days", defaultValue = "365")
+    int afterDays;
+
+    @ConfigProperty(name = "boletos.archive.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    /**
+     * Resultado de um bloco: boletos movidos e o maior id visto (início do próximo bloco)
+     */
+    public record Chunk(int archived, long lastId) {
+    }
+
+    @Scheduled(cron = "${boletos.archive.cron:0 0 4 * * ?}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void scheduledArchive() {
+        try {
+            archive(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Erro ao arquivar boletos pagos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Arquiva os boletos pagos com vencimento anterior a today - after-days. Retorna o total movido.
+     */
+    public int archive(LocalDate today) {
+        long start = System.currentTimeMillis();
+        LocalDate before = today.minusDays(afterDays);
+        int total = 0;
+        int chunks = 0;
+        long lastId = 0;
+
+        while (true) {
+            Chunk chunk = self.archiveChunk(lastId, before);
+            if (chunk == null) {
+                break;
+            }
+            total += chunk.archived();
+            lastId = chunk.lastId();
+            chunks++;
+        }
+
+        if (total > 0) {
+            log.info("Boletos pagos arquivados (vencimento antes de {}): {} em {} blocos ({} ms)",
+                    before, total, chunks, System.currentTimeMillis() - start);
+        } else {
+            log.debug("Nenhum boleto pago a arquivar antes de {}", before);
+        }
+        return total;
+    }
+
+    /**
+     * Processa o próximo bloco após afterId; null quando não há mais boletos a arquivar
+     */
+    @Transactional
+    public Chunk archiveChunk(long afterId, LocalDate before) {
+        List<Object[]> rows = boletoRepository.lockArchivableChunk(afterId, before, chunkSize);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<Long, Map<Long, Long>> porUsuarioECategoria = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+            Long userId = ((Number) row[1]).longValue();
+            Long categoriaId = row[2] != null ? ((Number) row[2]).longValue() : null;
+            porUsuarioECategoria.computeIfAbsent(userId, id -> new HashMap<>())
+                    .merge(categoriaId, 1L, Long::sum);
+        }
+
+        int archived = boletoRepository.archive(ids);
+
+        porUsuarioECategoria.forEach((userId, porCategoria) -> porCategoria.forEach((categoriaId, quantidade) ->
+                boletoContadorService.incrementar(userId, BoletoStatus.PAGO, categoriaId, -quantidade)));
+        porUsuarioECategoria.keySet().forEach(readReplicaRouter::registerWrite);
+
+        return new Chunk(archived, ids.get(ids.size() - 1));
+    }
+}
@@ -0,0 +1,305 @@
+package com.yagodaoud.venceja.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Decodifica código de barras e linha digitável de boletos (padrão FEBRABAN),
+ * validando os dígitos verificadores e extraindo valor e vencimento sem OCR.
+ *
+ * <ul>
+ *   <li>Boleto bancário: código de barras com 44 dígitos ou linha digitável com 47</li>
+ *   <li>Arrecadação/convênio: código de barras com 44 dígitos iniciado por 8 ou linha digitável com 48</li>
+ * </ul>
+ */
+public final class BoletoBarcodeDecoder {
+
+    public enum Tipo {
+        BANCARIO,
+        ARRECADACAO
+    }
+
+    /**
+     * Resultado da decodificação. Valor e vencimento podem ser nulos quando o
+     * documento não os informa (valor zerado, fator zero ou arrecadação sem data).
+     */
+    public record Decoded(Tipo tipo, String codigoBarras, BigDecimal valor, LocalDate vencimento) {
+    }
+
+    // Fator 1000 passou a representar 22/02/2025 após o esgotamento do fator 9999
+    private static final LocalDate BASE_FATOR_ORIGINAL = LocalDate.of(1997, 10, 7);
+    private static final LocalDate BASE_FATOR_ATUAL = LocalDate.of(2025, 2, 22);
+
+    private BoletoBarcodeDecoder() {
+    }
+
+    /**
+     * Forma canônica usada na detecção de duplicados: o código de barras de 44 dígitos
+     * quando a linha é válida (assim linha digitável e código de barras do mesmo boleto
+     * coincidem), senão apenas os dígitos. Retorna null se não houver dígitos ou se
+     * houver mais de 48.
+     */
+    public static String normalize(String codigo) {
+        String digits = digitsOnly(codigo);
+        if (digits == null) {
+            return null;
+        }
+        return decode(digits).map(Decoded::codigoBarras).orElse(digits);
+    }
+
+    /**
+     * Apenas os dígitos do código; null se não houver dígitos ou se houver mais de 48
+     */
+    public static String digitsOnly(String codigo) {
+        if (codigo == null) {
+            return null;
+        }
+
+        StringBuilder digits = new StringBuilder(48);
+        for (int i = 0; i < codigo.length(); i++) {
+            char c = codigo.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits.length() == 48) {
+                    return null;
+                }
+                digits.append(c);
+            }
+        }
+        return digits.length() > 0 ? digits.toString() : null;
+    }
+
+    /**
+     * Decodifica usando a data atual como referência para o fator de vencimento
+     */
+    public static Optional<Decoded> decode(String codigo) {
+        return decode(codigo, LocalDate.now());
+    }
+
+    /**
+     * Decodifica código de barras ou linha digitável; retorna vazio se o formato
+     * for desconhecido ou algum dígito verificador não conferir
+     */
+    public static Optional<Decoded> decode(String codigo, LocalDate hoje) {
+        if (codigo == null) {
+            return Optional.empty();
+        }
+
+        char[] digits = new char[48];
+        int count = 0;
+        for (int i = 0; i < codigo.length(); i++) {
+            char c = codigo.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (count == digits.length) {
+                    return Optional.empty();
+                }
+                digits[count++] = c;
+            }
+        }
+
+        return switch (count) {
+            case 44 -> digits[0] == '8'
+                    ? decodeArrecadacao(digits)
+                    : decodeBancario(digits, hoje);
+            case 47 -> linhaBancariaToBarcode(digits).flatMap(barcode -> decodeBancario(barcode, hoje));
+            case 48 -> digits[0] == '8'
+                    ? linhaArrecadacaoToBarcode(digits).flatMap(BoletoBarcodeDecoder::decodeArrecadacao)
+                    : Optional.empty();
+            default -> Optional.empty();
+        };
+    }
+
+    // ==================== Bancário ====================
+
+    /**
+     * Código de barras: banco(3) moeda(1) DV(1) fator(4) valor(10) campo livre(25)
+     */
+    private static Optional<Decoded> decodeBancario(char[] barcode, LocalDate hoje) {
+        if (digit(barcode, 4) != mod11Bancario(barcode, 4)) {
+            return Optional.empty();
+        }
+
+        int fator = (int) number(barcode, 5, 9);
+        long cents = number(barcode, 9, 19);
+
+        return Optional.of(new Decoded(
+                Tipo.BANCARIO,
+                new String(barcode, 0, 44),
+                cents > 0 ? BigDecimal.valueOf(cents, 2) : null,
+                vencimentoPorFator(fator, hoje)));
+    }
+
+    /**
+     * Linha digitável: três campos com DV módulo 10, DV geral e fator+valor
+     */
+    private static Optional<char[]> linhaBancariaToBarcode(char[] linha) {
+        if (digit(linha, 9) != mod10(linha, 0, 9)
+                || digit(linha, 20) != mod10(linha, 10, 20)
+                || digit(linha, 31) != mod10(linha, 21, 31)) {
+            return Optional.empty();
+        }
+
+        char[] barcode = new char[44];
+        System.arraycopy(linha, 0, barcode, 0, 4);    // banco + moeda
+        barcode[4] = linha[32];                        // DV geral
+        System.arraycopy(linha, 33, barcode, 5, 14);  // fator + valor
+        System.arraycopy(linha, 4, barcode, 19, 5);   // campo livre 1
+        System.arraycopy(linha, 10, barcode, 24, 10); // campo livre 2
+        System.arraycopy(linha, 21, barcode, 34, 10); // campo livre 3
+        return Optional.of(barcode);
+    }
+
+    private static LocalDate vencimentoPorFator(int fator, LocalDate hoje) {
+        if (fator == 0) {
+            return null;
+        }
+
+        LocalDate original = BASE_FATOR_ORIGINAL.plusDays(fator);
+        if (fator < 1000) {
+            return original;
+        }
+
+        // Escolhe o ciclo mais próximo da data de referência
+        LocalDate atual = BASE_FATOR_ATUAL.plusDays(fator - 1000L);
+        long distanciaOriginal = Math.abs(ChronoUnit.DAYS.between(hoje, original));
+        long distanciaAtual = Math.abs(ChronoUnit.DAYS.between(hoje, atual));
+        return distanciaAtual <= distanciaOriginal ? atual : original;
+    }
+
+    // ==================== Arrecadação ====================
+
+    /**
+     * Código de barras: produto(1) segmento(1) identificador de valor(1) DV(1) valor(11) ...
+     */
+    private static Optional<Decoded> decodeArrecadacao(char[] barcode) {
+        int identificador = digit(barcode, 2);
+        boolean modulo10 = identificador == 6 || identificador == 7;
+        if (!modulo10 && identificador != 8 && identificador != 9) {
+            return Optional.empty();
+        }
+
+        int expected = modulo10 ? mod10Skipping(barcode, 3) : mod11Arrecadacao(barcode, 3);
+        if (digit(barcode, 3) != expected) {
+            return Optional.empty();
+        }
+
+        // Identificadores 6 e 8 trazem o valor efetivo; 7 e 9 trazem valor de referência
+        BigDecimal valor = null;
+        if (identificador == 6 || identificador == 8) {
+            long cents = number(barcode, 4, 15);
+            valor = cents > 0 ? BigDecimal.valueOf(cents, 2) : null;
+        }
+
+        return Optional.of(new Decoded(Tipo.ARRECADACAO, new String(barcode, 0, 44), valor, null));
+    }
+
+    /**
+     * Linha digitável: quatro blocos de 11 dígitos, cada um seguido do seu DV
+     */
+    private static Optional<char[]> linhaArrecadacaoToBarcode(char[] linha) {
+        int identificador = digit(linha, 2);
+        boolean modulo10 = identificador == 6 || identificador == 7;
+
+        char[] barcode = new char[44];
+        for (int bloco = 0; bloco < 4; bloco++) {
+            int start = bloco * 12;
+            int expected = modulo10
+                    ? mod10(linha, start, start + 11)
+                    : mod11Arrecadacao(linha, start, start + 11);
+            if (digit(linha, start + 11) != expected) {
+                return Optional.empty();
+            }
+            System.arraycopy(linha, start, barcode, bloco * 11, 11);
+        }
+        return Optional.of(barcode);
+    }
+
+    // ==================== Dígitos verificadores ====================
+
+    /**
+     * Módulo 10: pesos 2,1,2,1... da direita para a esquerda, somando os dígitos dos produtos
+     */
+    private static int mod10(char[] digits, int start, int end) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = end - 1; i >= start; i--) {
+            int product = digit(digits, i) * weight;
+            sum += product > 9 ? product - 9 : product;
+            weight = weight == 2 ? 1 : 2;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Módulo 10 sobre os 44 dígitos ignorando a posição do DV
+     */
+    private static int mod10Skipping(char[] digits, int skip) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = 43; i >= 0; i--) {
+            if (i == skip) continue;
+            int product = digit(digits, i) * weight;
+            sum += product > 9 ? product - 9 : product;
+            weight = weight == 2 ? 1 : 2;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Módulo 11 do boleto bancário: pesos 2 a 9; resultados 0, 10 e 11 viram 1
+     */
+    private static int mod11Bancario(char[] digits, int skip) {
+        int sum = mod11Sum(digits, 0, 44, skip);
+        int dv = 11 - sum % 11;
+        return dv == 0 || dv == 10 || dv == 11 ? 1 : dv;
+    }
+
+    /**
+     * Módulo 11 da arrecadação sobre os 44 dígitos ignorando a posição do DV
+     */
+    private static int mod11Arrecadacao(char[] digits, int skip) {
+        return mod11ArrecadacaoDv(mod11Sum(digits, 0, 44, skip));
+    }
+
+    private static int mod11Arrecadacao(char[] digits, int start, int end) {
+        return mod11ArrecadacaoDv(mod11Sum(digits, start, end, -1));
+    }
+
+    /**
+     * Restos 0 e 1 resultam em DV 0; resto 10 resulta em DV 1
+     */
+    private static int mod11ArrecadacaoDv(int sum) {
+        int resto = sum % 11;
+        if (resto == 0 || resto == 1) {
+            return 0;
+        }
+        if (resto == 10) {
+            return 1;
+        }
+        return 11 - resto;
+    }
+
+    private static int mod11Sum(char[] digits, int start, int end, int skip) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = end - 1; i >= start; i--) {
+            if (i == skip) continue;
+            sum += digit(digits, i) * weight;
+            weight = weight == 9 ? 2 : weight + 1;
+        }
+        return sum;
+    }
+
+    private static int digit(char[] digits, int index) {
+        return digits[index] - '0';
+    }
+
+    private static long number(char[] digits, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + digit(digits, i);
+        }
+        return value;
+    }
+}
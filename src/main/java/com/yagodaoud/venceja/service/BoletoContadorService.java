@@ -0,0 +1,134 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.entity.BoletoContadorEntity;
+import com.yagodaoud.venceja.entity.BoletoEntity;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.repository.BoletoContadorRepository;
+import com.yagodaoud.venceja.repository.UserRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores de boletos por usuário, status e categoria. As alterações exigem a transação
+ * de quem grava o boleto, para que contador e boleto sejam confirmados (ou desfeitos) juntos.
+ * Um job semanal recalcula os contadores a partir dos boletos, corrigindo divergências.
+ */
+@Slf4j
+@ApplicationScoped
+public class BoletoContadorService {
+
+    @Inject
+    BoletoContadorRepository boletoContadorRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    BoletoContadorService self;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void incrementar(Long userId, BoletoStatus status, Long categoriaId, long delta) {
+        if (delta != 0) {
+            boletoContadorRepository.increment(userId, status, chave(categoriaId), delta);
+        }
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void incrementar(BoletoEntity boleto, long delta) {
+        incrementar(boleto.getUser().getId(), boleto.getStatus(), categoriaId(boleto), delta);
+    }
+
+    /**
+     * Soma os boletos agrupando por chave, com um upsert por combinação distinta
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void incrementarTodos(Collection<BoletoEntity> boletos) {
+        Map<BoletoContadorEntity.Key, Long> deltas = new HashMap<>();
+        for (BoletoEntity boleto : boletos) {
+            deltas.merge(new BoletoContadorEntity.Key(boleto.getUser().getId(), boleto.getStatus(),
+                    chave(categoriaId(boleto))), 1L, Long::sum);
+        }
+        deltas.forEach((key, delta) ->
+                boletoContadorRepository.increment(key.getUserId(), key.getStatus(), key.getCategoriaId(), delta));
+    }
+
+    /**
+     * Transfere quantidade de uma combinação de status/categoria para outra
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void mover(Long userId, BoletoStatus de, Long categoriaDe, BoletoStatus para, Long categoriaPara,
+                      long quantidade) {
+        if (de == para && chave(categoriaDe) == chave(categoriaPara)) {
+            return;
+        }
+        incrementar(userId, de, categoriaDe, -quantidade);
+        incrementar(userId, para, categoriaPara, quantidade);
+    }
+
+    /**
+     * Boletos de uma categoria removida passam a contar como sem categoria
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void moverCategoria(Long userId, Long categoriaId) {
+        for (BoletoContadorEntity contador : boletoContadorRepository.findByUserIdAndCategoriaId(userId, categoriaId)) {
+            boletoContadorRepository.increment(userId, contador.getStatus(),
+                    BoletoContadorEntity.SEM_CATEGORIA, contador.getQuantidade());
+        }
+        boletoContadorRepository.deleteByUserIdAndCategoriaId(userId, categoriaId);
+    }
+
+    /**
+     * Total de boletos do usuário nos status informados (todos se vazio), opcionalmente de uma categoria
+     */
+    @Transactional
+    public long total(Long userId, List<BoletoStatus> statuses, Long categoriaId) {
+        return boletoContadorRepository.sum(userId, statuses, categoriaId);
+    }
+
+    /**
+     * Recalcula os contadores de todos os usuários a partir dos boletos, um usuário por transação
+     */
+    @Scheduled(cron = "${boletos.contadores.rebuild-cron:0 0 3 ? * SUN}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = self.findUserIds();
+
+        int linhas = 0;
+        for (Long userId : userIds) {
+            try {
+                linhas += self.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Erro ao recalcular contadores do usuário {}: {}", userId, e.getMessage(), e);
+            }
+        }
+        log.info("Contadores de boletos recalculados: {} usuários, {} linhas em {} ms",
+                userIds.size(), linhas, System.currentTimeMillis() - start);
+    }
+
+    @Transactional
+    public List<Long> findUserIds() {
+        return userRepository.findAllIds();
+    }
+
+    @Transactional
+    public int rebuild(Long userId) {
+        return boletoContadorRepository.rebuild(userId);
+    }
+
+    private static Long categoriaId(BoletoEntity boleto) {
+        return boleto.getCategoria() != null ? boleto.getCategoria().getId() : null;
+    }
+
+    private static long chave(Long categoriaId) {
+        return categoriaId != null ? categoriaId : BoletoContadorEntity.SEM_CATEGORIA;
+    }
+}
@@ -0,0 +1,96 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.BoletoResponse;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Cursor opaco da paginação por keyset: campo de ordenação, direção e os valores
+ * (chave de ordenação, id) do último boleto da página, em Base64 URL-safe.
+ * A próxima página busca WHERE (chave, id) < (valor, id), ou > em ordem crescente.
+ */
+public record BoletoCursor(Campo campo, boolean desc, Object valor, Long id) {
+
+    private static final String VERSAO = "v1";
+
+    /**
+     * Campos aceitos na ordenação por keyset (todos NOT NULL)
+     */
+    public enum Campo {
+        ID("id", BoletoResponse::getId, Long::valueOf),
+        VENCIMENTO("vencimento", BoletoResponse::getVencimento, LocalDate::parse),
+        VALOR("valor", BoletoResponse::getValor, BigDecimal::new),
+        FORNECEDOR("fornecedor", BoletoResponse::getFornecedor, texto -> texto),
+        STATUS("status", BoletoResponse::getStatus, BoletoStatus::valueOf),
+        CREATED_AT("createdAt", BoletoResponse::getCreatedAt, LocalDateTime::parse),
+        UPDATED_AT("updatedAt", BoletoResponse::getUpdatedAt, LocalDateTime::parse);
+
+        private final String property;
+        private final Function<BoletoResponse, Object> extractor;
+        private final Function<String, Object> parser;
+
+        Campo(String property, Function<BoletoResponse, Object> extractor, Function<String, Object> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public static Campo of(String sortBy) {
+            for (Campo campo : values()) {
+                if (campo.property.equals(sortBy)) {
+                    return campo;
+                }
+            }
+            throw new IllegalArgumentException("Ordenação não suportada na paginação por cursor: " + sortBy
+                    + ". Valores aceitos: id, vencimento, valor, fornecedor, status, createdAt, updatedAt");
+        }
+    }
+
+    /**
+     * Cursor apontando para depois do boleto informado
+     */
+    public static BoletoCursor after(BoletoResponse last, Campo campo, boolean desc) {
+        return new BoletoCursor(campo, desc, campo.extractor.apply(last), last.getId());
+    }
+
+    public String encode() {
+        String valorTexto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(valor);
+        String raw = VERSAO + ":" + campo.property + ":" + (desc ? "desc" : "asc") + ":" + id + ":" + valorTexto;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor; ordenação e direção precisam ser as mesmas da requisição
+     */
+    public static BoletoCursor decode(String cursor, Campo campo, boolean desc) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        if (parts.length != 5 || !VERSAO.equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (!campo.property.equals(parts[1]) || desc != "desc".equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor gerado com outra ordenação; reinicie a listagem");
+        }
+
+        try {
+            return new BoletoCursor(campo, desc, campo.parser.apply(parts[4]), Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
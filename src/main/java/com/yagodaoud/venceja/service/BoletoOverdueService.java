@@ -0,0 +1,131 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.repository.BoletoRepository;
+import com.yagodaoud.venceja.repository.ReadReplicaRouter;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transição PENDENTE -> VENCIDO para todos os usuários, em blocos de ids consecutivos,
+ * cada um em sua própria transação curta. As linhas do bloco são travadas antes do UPDATE,
+ * então execuções simultâneas em várias instâncias não contam a mesma linha duas vezes.
+ */
+@Slf4j
+@ApplicationScoped
+public class BoletoOverdueService {
+
+    @Inject
+    BoletoRepository boletoRepository;
+
+    @Inject
+    BoletoContadorService boletoContadorService;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
+
+    @Inject
+    BoletoResumoService boletoResumoService;
+
+    @Inject
+    BoletoOverdueService self;
+
+    @ConfigProperty(name = "boletos.overdue.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    /**
+     * Resultado de um bloco: linhas alteradas e o maior id visto (início do próximo bloco)
+     */
+    public record Chunk(int updated, long lastId) {
+    }
+
+    @Scheduled(every = "${boletos.overdue.every:1h}", delayed = "1m",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void scheduledUpdate() {
+        try {
+            updateOverdue(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Erro ao atualizar boletos vencidos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Marca como vencidos todos os boletos pendentes com vencimento anterior a today.
+     * Retorna o total de linhas alteradas.
+     */
+    public int updateOverdue(LocalDate today) {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int chunks = 0;
+        long lastId = 0;
+
+        while (true) {
+            Chunk chunk = self.updateChunk(lastId, today);
+            if (chunk == null) {
+                break;
+            }
+            total += chunk.updated();
+            lastId = chunk.lastId();
+            chunks++;
+        }
+
+        if (total > 0) {
+            log.info("Boletos marcados como vencidos: {} em {} blocos ({} ms)",
+                    total, chunks, System.currentTimeMillis() - start);
+        } else {
+            log.debug("Nenhum boleto pendente vencido");
+        }
+        return total;
+    }
+
+    /**
+     * Processa o próximo bloco após afterId; null quando não há mais boletos a atualizar
+     */
+    @Transactional
+    public Chunk updateChunk(long afterId, LocalDate today) {
+        List<Object[]> rows = boletoRepository.lockOverdueChunk(afterId, today, chunkSize);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<BoletoResumoService.Linha> linhas = new ArrayList<>(rows.size());
+        Map<Long, Map<Long, Long>> porUsuarioECategoria = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+            Long userId = ((Number) row[1]).longValue();
+            Long categoriaId = row[2] != null ? ((Number) row[2]).longValue() : null;
+            porUsuarioECategoria.computeIfAbsent(userId, id -> new HashMap<>())
+                    .merge(categoriaId, 1L, Long::sum);
+            linhas.add(new BoletoResumoService.Linha(userId, toLocalDate(row[3]), BoletoStatus.PENDENTE,
+                    categoriaId, (BigDecimal) row[4]));
+        }
+
+        int updated = boletoRepository.markOverdue(ids, LocalDateTime.now());
+
+        porUsuarioECategoria.forEach((userId, porCategoria) -> porCategoria.forEach((categoriaId, quantidade) ->
+                boletoContadorService.mover(userId, BoletoStatus.PENDENTE, categoriaId,
+                        BoletoStatus.VENCIDO, categoriaId, quantidade)));
+        boletoResumoService.moverStatus(linhas, BoletoStatus.VENCIDO);
+        porUsuarioECategoria.keySet().forEach(readReplicaRouter::registerWrite);
+
+        return new Chunk(updated, ids.get(ids.size() - 1));
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,157 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.BoletoResponse;
+import com.yagodaoud.venceja.dto.CursorPage;
+import com.yagodaoud.venceja.dto.PagedResult;
+import com.yagodaoud.venceja.entity.BoletoEntity;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.repository.BoletoReactiveRepository;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Listagem de boletos sem bloqueio: as consultas rodam no event loop pelo cliente reativo,
+ * com pool próprio, e não disputam worker threads nem as conexões JDBC usadas pelos scans.
+ * Mesmas regras do BoletoService (filtros, totais pelos contadores, cursor e busca). Sem pool
+ * reativo (H2 no perfil dev) delega ao BoletoService em uma worker thread.
+ */
+@ApplicationScoped
+public class BoletoReadService {
+
+    @Inject
+    BoletoReactiveRepository boletoReactiveRepository;
+
+    @Inject
+    BoletoService boletoService;
+
+    @Inject
+    UserIdResolver userIdResolver;
+
+    public Uni<PagedResult<BoletoResponse>> listBoletos(
+            String userEmail,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            int page,
+            int size,
+            String sortBy,
+            String direction) {
+
+        if (!boletoReactiveRepository.available()) {
+            return blocking(() -> boletoService.listBoletos(
+                    userEmail, statuses, categoriaId, dataInicio, dataFim, page, size, sortBy, direction));
+        }
+
+        boolean desc = "desc".equalsIgnoreCase(direction);
+
+        return userIdResolver.resolveReactive(userEmail).flatMap(userId -> Uni.combine().all()
+                .unis(
+                        boletoReactiveRepository.findByUserIdWithFilters(
+                                userId, statuses, categoriaId, dataInicio, dataFim, page, size, sortBy, desc),
+                        countBoletos(userId, statuses, categoriaId, dataInicio, dataFim))
+                .asTuple()
+                .map(result -> new PagedResult<>(result.getItem1(), result.getItem2(), page, size)));
+    }
+
+    public Uni<PagedResult<BoletoResponse>> searchBoletos(
+            String userEmail,
+            String q,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            int page,
+            int size) {
+
+        if (!boletoReactiveRepository.available()) {
+            return blocking(() -> boletoService.searchBoletos(
+                    userEmail, q, statuses, categoriaId, dataInicio, dataFim, page, size));
+        }
+
+        String termo = BoletoEntity.normalizarBusca(q);
+        if (termo.isEmpty()) {
+            throw new IllegalArgumentException("Termo de busca deve conter letras ou números");
+        }
+
+        return userIdResolver.resolveReactive(userEmail).flatMap(userId -> Uni.combine().all()
+                .unis(
+                        boletoReactiveRepository.searchByUserId(
+                                userId, termo, statuses, categoriaId, dataInicio, dataFim, page, size),
+                        boletoReactiveRepository.countSearchByUserId(
+                                userId, termo, statuses, categoriaId, dataInicio, dataFim))
+                .asTuple()
+                .map(result -> new PagedResult<>(result.getItem1(), result.getItem2(), page, size)));
+    }
+
+    public Uni<CursorPage<BoletoResponse>> listBoletosByCursor(
+            String userEmail,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            String cursor,
+            int size,
+            String sortBy,
+            String direction,
+            boolean includeTotal) {
+
+        if (!boletoReactiveRepository.available()) {
+            return blocking(() -> boletoService.listBoletosByCursor(
+                    userEmail, statuses, categoriaId, dataInicio, dataFim, cursor, size, sortBy, direction, includeTotal));
+        }
+
+        if (size < 1 || size > BoletoService.MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + BoletoService.MAX_CURSOR_PAGE_SIZE);
+        }
+
+        BoletoCursor.Campo campo = BoletoCursor.Campo.of(sortBy);
+        boolean desc = "desc".equalsIgnoreCase(direction);
+        BoletoCursor after = cursor == null || cursor.isBlank() ? null : BoletoCursor.decode(cursor, campo, desc);
+
+        return userIdResolver.resolveReactive(userEmail).flatMap(userId -> Uni.combine().all()
+                .unis(
+                        // Um registro a mais indica se existe próxima página
+                        boletoReactiveRepository.findByUserIdAfterCursor(
+                                userId, statuses, categoriaId, dataInicio, dataFim, campo.property(), desc,
+                                after != null ? after.valor() : null,
+                                after != null ? after.id() : null,
+                                size + 1),
+                        includeTotal
+                                ? countBoletos(userId, statuses, categoriaId, dataInicio, dataFim)
+                                : Uni.createFrom().<Long>nullItem())
+                .asTuple()
+                .map(result -> {
+                    List<BoletoResponse> boletos = result.getItem1();
+                    boolean hasNext = boletos.size() > size;
+                    List<BoletoResponse> content = hasNext ? boletos.subList(0, size) : boletos;
+
+                    String nextCursor = hasNext
+                            ? BoletoCursor.after(content.get(content.size() - 1), campo, desc).encode()
+                            : null;
+
+                    return new CursorPage<>(content, nextCursor, hasNext, result.getItem2(), size);
+                }));
+    }
+
+    /**
+     * Mesma regra de BoletoService.countBoletos: contadores sem filtro de datas, COUNT com datas
+     */
+    private Uni<Long> countBoletos(Long userId, List<BoletoStatus> statuses, Long categoriaId,
+                                   LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null && dataFim == null) {
+            return boletoReactiveRepository.sumContadores(userId, statuses, categoriaId);
+        }
+        return boletoReactiveRepository.countByUserIdWithFilters(userId, statuses, categoriaId, dataInicio, dataFim);
+    }
+
+    private static <T> Uni<T> blocking(Supplier<T> supplier) {
+        return Uni.createFrom().item(supplier).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+}
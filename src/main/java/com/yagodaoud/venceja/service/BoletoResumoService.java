@@ -0,0 +1,235 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.BoletoResumoResponse;
+import com.yagodaoud.venceja.dto.CategoriaResponse;
+import com.yagodaoud.venceja.entity.BoletoContadorEntity;
+import com.yagodaoud.venceja.entity.BoletoEntity;
+import com.yagodaoud.venceja.entity.BoletoResumoEntity;
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.entity.CategoriaEntity;
+import com.yagodaoud.venceja.repository.BoletoResumoRepository;
+import com.yagodaoud.venceja.repository.CategoriaRepository;
+import com.yagodaoud.venceja.repository.UserRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resumo diário de boletos (quantidade e valor por vencimento, status e categoria).
+ * As alterações exigem a transação de quem grava o boleto; o resumo da tela inicial lê
+ * apenas essas linhas, sem varrer a tabela de boletos.
+ */
+@Slf4j
+@ApplicationScoped
+public class BoletoResumoService {
+
+    private static final List<BoletoStatus> EM_ABERTO = List.of(BoletoStatus.PENDENTE, BoletoStatus.VENCIDO);
+
+    @Inject
+    BoletoResumoRepository boletoResumoRepository;
+
+    @Inject
+    CategoriaRepository categoriaRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    UserIdResolver userIdResolver;
+
+    @Inject
+    BoletoResumoService self;
+
+    /**
+     * Boleto do ponto de vista do resumo: o que muda de linha quando alterado
+     */
+    public record Linha(Long userId, LocalDate dia, BoletoStatus status, Long categoriaId, BigDecimal valor) {
+
+        public static Linha of(BoletoEntity boleto) {
+            return new Linha(boleto.getUser().getId(), boleto.getVencimento(), boleto.getStatus(),
+                    boleto.getCategoria() != null ? boleto.getCategoria().getId() : null, boleto.getValor());
+        }
+
+        private BoletoResumoEntity.Key key() {
+            return new BoletoResumoEntity.Key(userId, dia, status,
+                    categoriaId != null ? categoriaId : BoletoContadorEntity.SEM_CATEGORIA);
+        }
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void adicionar(BoletoEntity boleto) {
+        adicionarTodos(List.of(Linha.of(boleto)), 1);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void remover(BoletoEntity boleto) {
+        adicionarTodos(List.of(Linha.of(boleto)), -1);
+    }
+
+    /**
+     * Substitui a linha anterior do boleto pela atual, se algo relevante mudou
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void atualizar(Linha anterior, BoletoEntity boleto) {
+        Linha atual = Linha.of(boleto);
+        if (anterior.equals(atual)) {
+            return;
+        }
+        adicionarTodos(List.of(anterior), -1);
+        adicionarTodos(List.of(atual), 1);
+    }
+
+    /**
+     * Soma (sinal 1) ou subtrai (sinal -1) as linhas, com um upsert por chave distinta
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void adicionarTodos(Collection<Linha> linhas, int sinal) {
+        Map<BoletoResumoEntity.Key, long[]> quantidades = new HashMap<>();
+        Map<BoletoResumoEntity.Key, BigDecimal> valores = new HashMap<>();
+        for (Linha linha : linhas) {
+            BoletoResumoEntity.Key key = linha.key();
+            quantidades.computeIfAbsent(key, k -> new long[1])[0] += sinal;
+            valores.merge(key, sinal > 0 ? linha.valor() : linha.valor().negate(), BigDecimal::add);
+        }
+
+        quantidades.forEach((key, quantidade) -> boletoResumoRepository.increment(
+                key.getUserId(), key.getDia(), key.getStatus(), key.getCategoriaId(), quantidade[0], valores.get(key)));
+    }
+
+    /**
+     * Move as linhas de um status para outro (ex.: transição para vencido)
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void moverStatus(Collection<Linha> linhas, BoletoStatus para) {
+        adicionarTodos(linhas, -1);
+        adicionarTodos(linhas.stream()
+                .map(linha -> new Linha(linha.userId(), linha.dia(), para, linha.categoriaId(), linha.valor()))
+                .toList(), 1);
+    }
+
+    /**
+     * Boletos de uma categoria removida passam a contar como sem categoria
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void moverCategoria(Long userId, Long categoriaId) {
+        for (BoletoResumoEntity resumo : boletoResumoRepository.findByUserIdAndCategoriaId(userId, categoriaId)) {
+            boletoResumoRepository.increment(userId, resumo.getDia(), resumo.getStatus(),
+                    BoletoContadorEntity.SEM_CATEGORIA, resumo.getQuantidade(), resumo.getValor());
+        }
+        boletoResumoRepository.deleteByUserIdAndCategoriaId(userId, categoriaId);
+    }
+
+    /**
+     * Totais da tela inicial na data informada
+     */
+    @Transactional
+    public BoletoResumoResponse getResumo(String userEmail, LocalDate hoje) {
+        Long userId = userIdResolver.resolve(userEmail);
+
+        LocalDate fimSemana = hoje.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        LocalDate inicioMes = hoje.withDayOfMonth(1);
+        LocalDate fimMes = hoje.with(TemporalAdjusters.lastDayOfMonth());
+
+        BoletoResumoResponse.Total vencidos = total(boletoResumoRepository.sum(
+                userId, List.of(BoletoStatus.VENCIDO), null, null));
+        BoletoResumoResponse.Total pendentesAtrasados = total(boletoResumoRepository.sum(
+                userId, List.of(BoletoStatus.PENDENTE), null, hoje.minusDays(1)));
+
+        List<Object[]> porCategoria = boletoResumoRepository.sumByCategoria(userId, EM_ABERTO);
+        List<Long> categoriaIds = porCategoria.stream()
+                .map(row -> (Long) row[0])
+                .filter(id -> id != BoletoContadorEntity.SEM_CATEGORIA)
+                .toList();
+        Map<Long, CategoriaEntity> categorias = categoriaIds.isEmpty()
+                ? Map.of()
+                : categoriaRepository.findByIds(categoriaIds).stream()
+                        .collect(Collectors.toMap(CategoriaEntity::getId, Function.identity()));
+
+        return BoletoResumoResponse.builder()
+                .dataReferencia(hoje)
+                .vencendoSemana(total(boletoResumoRepository.sum(userId, List.of(BoletoStatus.PENDENTE), hoje, fimSemana)))
+                .vencendoMes(total(boletoResumoRepository.sum(userId, List.of(BoletoStatus.PENDENTE), hoje, fimMes)))
+                .vencidos(BoletoResumoResponse.Total.builder()
+                        .quantidade(vencidos.getQuantidade() + pendentesAtrasados.getQuantidade())
+                        .valor(vencidos.getValor().add(pendentesAtrasados.getValor()))
+                        .build())
+                .pagosMes(total(boletoResumoRepository.sum(userId, List.of(BoletoStatus.PAGO), inicioMes, fimMes)))
+                .porCategoria(porCategoria.stream()
+                        .map(row -> BoletoResumoResponse.CategoriaTotal.builder()
+                                .categoria(toCategoriaResponse(categorias.get((Long) row[0])))
+                                .quantidade(((Number) row[1]).longValue())
+                                .valor(decimal(row[2]))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Recalcula o resumo de todos os usuários a partir dos boletos (carga inicial ou correção
+     * de divergências), um usuário por transação
+     */
+    @Scheduled(cron = "${boletos.resumo.rebuild-cron:0 30 3 ? * SUN}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = self.findUserIds();
+
+        int linhas = 0;
+        for (Long userId : userIds) {
+            try {
+                linhas += self.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Erro ao recalcular resumo do usuário {}: {}", userId, e.getMessage(), e);
+            }
+        }
+        log.info("Resumo de boletos recalculado: {} usuários, {} linhas em {} ms",
+                userIds.size(), linhas, System.currentTimeMillis() - start);
+    }
+
+    @Transactional
+    public List<Long> findUserIds() {
+        return userRepository.findAllIds();
+    }
+
+    @Transactional
+    public int rebuild(Long userId) {
+        return boletoResumoRepository.rebuild(userId);
+    }
+
+    private static BoletoResumoResponse.Total total(Object[] row) {
+        return BoletoResumoResponse.Total.builder()
+                .quantidade(((Number) row[0]).longValue())
+                .valor(decimal(row[1]))
+                .build();
+    }
+
+    private static BigDecimal decimal(Object value) {
+        BigDecimal decimal = value instanceof BigDecimal number ? number : new BigDecimal(value.toString());
+        return decimal.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static CategoriaResponse toCategoriaResponse(CategoriaEntity categoria) {
+        if (categoria == null) {
+            return null;
+        }
+        return CategoriaResponse.builder()
+                .id(categoria.getId())
+                .nome(categoria.getNome())
+                .cor(categoria.getCor())
+                .build();
+    }
+}
@@ -1,8 +1,12 @@
 package com.yagodaoud.venceja.service;
 
+import com.yagodaoud.venceja.dto.BoletoProjection;
 import com.yagodaoud.venceja.dto.BoletoRequest;
 import com.yagodaoud.venceja.dto.BoletoResponse;
+import com.yagodaoud.venceja.dto.BulkScanItemResponse;
 import com.yagodaoud.venceja.dto.CategoriaResponse;
+import com.yagodaoud.venceja.dto.CursorPage;
+import com.yagodaoud.venceja.dto.ErrorResponse;
 import com.yagodaoud.venceja.dto.PagedResult;
 import com.yagodaoud.venceja.entity.BoletoEntity;
 import com.yagodaoud.venceja.entity.BoletoStatus;
@@ -10,20 +14,36 @@ import com.yagodaoud.venceja.entity.CategoriaEntity;
 import com.yagodaoud.venceja.entity.UserEntity;
 import com.yagodaoud.venceja.repository.BoletoRepository;
 import com.yagodaoud.venceja.repository.CategoriaRepository;
-import com.yagodaoud.venceja.repository.UserRepository;
+import com.yagodaoud.venceja.repository.ReadReplicaRouter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.faulttolerance.Asynchronous;
+import org.hibernate.exception.ConstraintViolationException;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço para gerenciamento de boletos com otimizações de memória
@@ -39,7 +59,10 @@ public class BoletoService {
     CategoriaRepository categoriaRepository;
 
     @Inject
-    UserRepository userRepository;
+    UserIdResolver userIdResolver;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
 
     @Inject
     VisionService visionService;
@@ -47,45 +70,59 @@ public class BoletoService {
     @Inject
     FirebaseService firebaseService;
 
+    @Inject
+    BoletoContadorService boletoContadorService;
+
+    @Inject
+    BoletoResumoService boletoResumoService;
+
     @Inject
     BoletoService self;
 
     @Inject
     EntityManager entityManager;
 
-    @Transactional
-    public BoletoResponse createBoleto(BoletoRequest request, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+    @Inject
+    Validator validator;
 
-        if (request.getValor() == null || request.getVencimento() == null ||
-                request.getFornecedor() == null || request.getFornecedor().isEmpty()) {
-            throw new IllegalArgumentException(
-                    "Dados obrigatórios não fornecidos. Valor, vencimento e fornecedor são necessários.");
-        }
+    @ConfigProperty(name = "boletos.batch.max-items", defaultValue = "5000")
+    int maxBatchItems;
 
-        CategoriaEntity categoria = null;
-        if (request.getCategoriaId() != null) {
-            categoria = categoriaRepository.findByIdOptional(request.getCategoriaId())
-                    .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
 
-            if (!categoria.getUser().getId().equals(user.getId())) {
-                throw new IllegalArgumentException("Categoria não pertence ao usuário");
+    /**
+     * Cria o boleto ou, se o usuário já tiver um com o mesmo código de barras, retorna o
+     * existente com duplicado=true. Inserções concorrentes do mesmo código são resolvidas
+     * pelo índice único: a perdedora recebe o boleto gravado pela outra.
+     */
+    public BoletoResponse createBoleto(BoletoRequest request, String userEmail) {
+        try {
+            return self.insertBoleto(request, userEmail);
+        } catch (PersistenceException e) {
+            if (!isConstraintViolation(e)) {
+                throw e;
             }
+            return self.findByCodigoBarras(request.getCodigoBarras(), userEmail)
+                    .orElseThrow(() -> e);
         }
+    }
 
-        BoletoEntity boleto = BoletoEntity.builder()
-                .user(user)
-                .fornecedor(request.getFornecedor())
-                .valor(request.getValor())
-                .vencimento(request.getVencimento())
-                .codigoBarras(request.getCodigoBarras())
-                .status(determineStatus(request.getVencimento()))
-                .observacoes(request.getObservacoes())
-                .categoria(categoria)
-                .build();
+    @Transactional
+    public BoletoResponse insertBoleto(BoletoRequest request, String userEmail) {
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        Optional<BoletoResponse> existing = findExisting(user.getId(), request.getCodigoBarras());
+        if (existing.isPresent()) {
+            log.info("Boleto já cadastrado com o mesmo código de barras: ID {}", existing.get().getId());
+            return existing.get();
+        }
+
+        BoletoEntity boleto = buildBoleto(user, request, categoriaRepository::findByIdOptional);
 
         boletoRepository.persist(boleto);
+        boletoContadorService.incrementar(boleto, 1);
+        boletoResumoService.adicionar(boleto);
+        readReplicaRouter.registerWrite(user.getId());
 
         entityManager.flush();
 
@@ -97,18 +134,172 @@ public class BoletoService {
         return response;
     }
 
+    /**
+     * Cria vários boletos em uma transação (ver insertBoletos). Se outra requisição gravar o
+     * mesmo código de barras ao mesmo tempo, o índice único derruba o lote e os itens são
+     * gravados um a um.
+     */
+    public List<BulkScanItemResponse> createBoletos(List<BoletoRequest> requests, String userEmail) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum boleto enviado");
+        }
+        if (requests.size() > maxBatchItems) {
+            throw new IllegalArgumentException("Limite de " + maxBatchItems + " boletos por lote excedido");
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            List<BulkScanItemResponse> results = self.insertBoletos(requests, userEmail);
+            long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+            log.info("Lote de {} boletos gravado em {} ms ({} boletos/s)",
+                    requests.size(), elapsed, requests.size() * 1000L / elapsed);
+            return results;
+        } catch (PersistenceException e) {
+            if (!isConstraintViolation(e)) {
+                throw e;
+            }
+            log.warn("Conflito de código de barras no lote, gravando itens individualmente");
+        }
+
+        List<BulkScanItemResponse> results = new ArrayList<>(requests.size());
+        for (BoletoRequest request : requests) {
+            try {
+                BoletoResponse boleto = createBoleto(request, userEmail);
+                results.add(BulkScanItemResponse.builder()
+                        .status(Boolean.TRUE.equals(boleto.getDuplicado())
+                                ? BulkScanItemResponse.Status.DUPLICADO
+                                : BulkScanItemResponse.Status.CRIADO)
+                        .boleto(boleto)
+                        .build());
+            } catch (RuntimeException e) {
+                results.add(failure(e instanceof IllegalArgumentException ? "INVALID_REQUEST" : "INTERNAL_ERROR",
+                        e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Grava os boletos de um lote em uma única transação, com uma busca de usuário, uma de
+     * categorias e uma consulta de duplicados para o lote inteiro. Os INSERTs saem em batches
+     * JDBC no flush. Itens inválidos são reportados como falha
+     * sem interromper os demais; a ordem do resultado acompanha a das requisições.
+     */
+    @Transactional
+    public List<BulkScanItemResponse> insertBoletos(List<BoletoRequest> requests, String userEmail) {
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        List<String> codigos = requests.stream()
+                .flatMap(request -> codigoCandidates(request.getCodigoBarras()).stream())
+                .distinct()
+                .toList();
+
+        // Boletos já gravados e os criados neste lote, pela forma normalizada do código
+        Map<String, BoletoEntity> porCodigo = new HashMap<>();
+        Map<String, BoletoProjection> arquivados = Map.of();
+        if (!codigos.isEmpty()) {
+            for (BoletoEntity boleto : boletoRepository.findAllByUserIdAndCodigoBarrasNormalizado(user.getId(), codigos)) {
+                porCodigo.put(boleto.getCodigoBarrasNormalizado(), boleto);
+            }
+            arquivados = boletoRepository.findArchivedByUserIdAndCodigoBarrasNormalizado(user.getId(), codigos);
+        }
+
+        List<Long> categoriaIds = requests.stream()
+                .map(BoletoRequest::getCategoriaId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, CategoriaEntity> categorias = categoriaIds.isEmpty()
+                ? Map.of()
+                : categoriaRepository.findByIds(categoriaIds).stream()
+                        .collect(Collectors.toMap(CategoriaEntity::getId, categoria -> categoria));
+
+        List<BulkScanItemResponse> results = new ArrayList<>(requests.size());
+        List<BoletoEntity> boletos = new ArrayList<>(requests.size());
+        List<BoletoEntity> criados = new ArrayList<>(requests.size());
+
+        for (BoletoRequest request : requests) {
+            BoletoEntity existing = codigoCandidates(request.getCodigoBarras()).stream()
+                    .map(porCodigo::get)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+
+            if (existing != null) {
+                results.add(BulkScanItemResponse.builder().status(BulkScanItemResponse.Status.DUPLICADO).build());
+                boletos.add(existing);
+                continue;
+            }
+
+            // Arquivados não são entidades: a resposta sai da projeção e não há o que gravar
+            BoletoProjection arquivado = codigoCandidates(request.getCodigoBarras()).stream()
+                    .map(arquivados::get)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+
+            if (arquivado != null) {
+                BoletoResponse response = arquivado.toResponse();
+                response.setDuplicado(true);
+                results.add(BulkScanItemResponse.builder()
+                        .status(BulkScanItemResponse.Status.DUPLICADO)
+                        .boleto(response)
+                        .build());
+                boletos.add(null);
+                continue;
+            }
+
+            try {
+                BoletoEntity boleto = buildBoleto(user, request, id -> Optional.ofNullable(categorias.get(id)));
+                boletoRepository.persist(boleto);
+
+                if (boleto.getCodigoBarrasNormalizado() != null) {
+                    porCodigo.put(boleto.getCodigoBarrasNormalizado(), boleto);
+                }
+                results.add(BulkScanItemResponse.builder().status(BulkScanItemResponse.Status.CRIADO).build());
+                boletos.add(boleto);
+                criados.add(boleto);
+
+            } catch (IllegalArgumentException e) {
+                results.add(failure("INVALID_REQUEST", e.getMessage()));
+                boletos.add(null);
+            }
+        }
+
+        boletoContadorService.incrementarTodos(criados);
+        boletoResumoService.adicionarTodos(criados.stream().map(BoletoResumoService.Linha::of).toList(), 1);
+        readReplicaRouter.registerWrite(user.getId());
+
+        entityManager.flush();
+
+        for (int i = 0; i < results.size(); i++) {
+            BoletoEntity boleto = boletos.get(i);
+            if (boleto != null) {
+                BoletoResponse response = toResponse(boleto);
+                response.setDuplicado(results.get(i).getStatus() == BulkScanItemResponse.Status.DUPLICADO);
+                results.get(i).setBoleto(response);
+            }
+        }
+
+        entityManager.clear();
+
+        log.info("Lote de {} boletos gravado para o usuário {}", requests.size(), user.getId());
+        return results;
+    }
+
     @Transactional
     public BoletoResponse updateBoleto(long id, BoletoRequest request, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         if (request.getValor() == null || request.getVencimento() == null ||
                 request.getFornecedor() == null || request.getFornecedor().isEmpty()) {
             throw new IllegalArgumentException(
                     "Dados obrigatórios não fornecidos. Valor, vencimento e fornecedor são necessários.");
         }
+        validate(request);
 
-        BoletoEntity boleto = boletoRepository.findByIdOptional(id)
+        // Travado até o commit: o status lido é a base dos deltas de contadores e resumo
+        BoletoEntity boleto = boletoRepository.findByIdOptional(id, LockModeType.PESSIMISTIC_WRITE)
                 .orElseThrow(() -> new IllegalArgumentException("Boleto não encontrado"));
 
         CategoriaEntity categoria = null;
@@ -121,13 +312,35 @@ public class BoletoService {
             }
         }
 
+        String codigoNormalizado = BoletoBarcodeDecoder.normalize(request.getCodigoBarras());
+        if (codigoNormalizado != null && !codigoNormalizado.equals(boleto.getCodigoBarrasNormalizado())) {
+            List<String> codigos = codigoCandidates(request.getCodigoBarras());
+            boolean emUso = boletoRepository
+                    .findAllByUserIdAndCodigoBarrasNormalizado(user.getId(), codigos)
+                    .stream()
+                    .anyMatch(other -> !other.getId().equals(boleto.getId()))
+                    || !boletoRepository.findArchivedByUserIdAndCodigoBarrasNormalizado(user.getId(), codigos).isEmpty();
+            if (emUso) {
+                throw new IllegalArgumentException("Já existe um boleto com este código de barras");
+            }
+        }
+
+        Long categoriaAnterior = boleto.getCategoria() != null ? boleto.getCategoria().getId() : null;
+        BoletoResumoService.Linha resumoAnterior = BoletoResumoService.Linha.of(boleto);
+
         boleto.setFornecedor(request.getFornecedor());
         boleto.setValor(request.getValor());
         boleto.setVencimento(request.getVencimento());
         boleto.setCodigoBarras(request.getCodigoBarras());
+        boleto.setCodigoBarrasNormalizado(codigoNormalizado);
         boleto.setObservacoes(request.getObservacoes());
         boleto.setCategoria(categoria);
 
+        boletoContadorService.mover(boleto.getUser().getId(), boleto.getStatus(), categoriaAnterior,
+                boleto.getStatus(), categoria != null ? categoria.getId() : null, 1);
+        boletoResumoService.atualizar(resumoAnterior, boleto);
+        readReplicaRouter.registerWrite(user.getId());
+
         entityManager.flush();
         BoletoResponse response = toResponse(boleto);
         entityManager.detach(boleto);
@@ -136,65 +349,130 @@ public class BoletoService {
         return response;
     }
 
+    /**
+     * Processa o arquivo enviado; o caminho deve permanecer válido até o término do processamento
+     */
     @Asynchronous
     public CompletionStage<BoletoResponse> scanBoleto(
-            byte[] fileBytes,
+            Path file,
             String fileName,
             BoletoRequest request,
             String userEmail) {
         try {
-            UserEntity user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            return CompletableFuture.completedFuture(processScan(file, fileName, request, userEmail));
 
-            String ocrText = visionService.detectDocumentText(fileBytes);
-            log.info("OCR concluído, texto extraído: {} caracteres", ocrText != null ? ocrText.length() : 0);
+        } catch (Exception e) {
+            log.error("Erro ao processar boleto: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            BoletoRequest mergedRequest = new BoletoRequest();
+    /**
+     * Executa OCR (quando necessário) e cria o boleto de forma síncrona.
+     * Usado pelo scan direto e pelos workers de jobs assíncronos.
+     */
+    public BoletoResponse processScan(
+            Path file,
+            String fileName,
+            BoletoRequest request,
+            String userEmail) throws IOException {
+        // Valida o usuário antes do OCR; fora de transação, então apenas o id
+        userIdResolver.resolve(userEmail);
+
+        BoletoRequest mergedRequest = new BoletoRequest();
+
+        if (request != null) {
+            mergedRequest.setValor(request.getValor());
+            mergedRequest.setVencimento(request.getVencimento());
+            mergedRequest.setFornecedor(request.getFornecedor());
+            mergedRequest.setCodigoBarras(request.getCodigoBarras());
+            mergedRequest.setObservacoes(request.getObservacoes());
+            mergedRequest.setCategoriaId(request.getCategoriaId());
+        }
 
-            mergedRequest.setValor(
-                    (request != null && request.getValor() != null)
-                            ? request.getValor()
-                            : visionService.extractValor(ocrText)
-            );
+        // Boleto já cadastrado com o código informado pelo cliente: nada a processar
+        if (mergedRequest.getCodigoBarras() != null && !mergedRequest.getCodigoBarras().isEmpty()) {
+            Optional<BoletoResponse> existing = self.findByCodigoBarras(mergedRequest.getCodigoBarras(), userEmail);
+            if (existing.isPresent()) {
+                log.info("Boleto já cadastrado com o código informado, OCR ignorado: ID {}", existing.get().getId());
+                return existing.get();
+            }
+        }
 
-            mergedRequest.setVencimento(
-                    (request != null && request.getVencimento() != null)
-                            ? request.getVencimento()
-                            : visionService.extractVencimento(ocrText)
-            );
+        completeFromDocument(file, mergedRequest);
 
-            mergedRequest.setFornecedor(
-                    (request != null && request.getFornecedor() != null && !request.getFornecedor().isEmpty())
-                            ? request.getFornecedor()
-                            : visionService.extractFornecedor(ocrText)
-            );
+        return createBoleto(mergedRequest, userEmail);
+    }
 
-            mergedRequest.setCodigoBarras(
-                    (request != null && request.getCodigoBarras() != null && !request.getCodigoBarras().isEmpty())
-                            ? request.getCodigoBarras()
-                            : visionService.extractCodigoBarras(ocrText)
-            );
+    /**
+     * Completa a requisição com o código de barras e, se ainda faltar algum dado, com o OCR
+     * do documento. Não acessa o banco, podendo rodar em paralelo para vários arquivos.
+     */
+    public void completeFromDocument(Path file, BoletoRequest request) throws IOException {
+        // Código de barras informado pelo cliente dispensa as heurísticas para valor e vencimento
+        fillFromCodigoBarras(request);
 
-            mergedRequest.setObservacoes(request != null ? request.getObservacoes() : null);
-            mergedRequest.setCategoriaId(request != null ? request.getCategoriaId() : null);
+        if (isComplete(request)) {
+            log.info("Dados completos informados pelo cliente, OCR ignorado");
+            return;
+        }
 
-            BoletoResponse response = self.createBoleto(mergedRequest, userEmail);
+        String ocrText = visionService.detectDocumentText(file);
+        log.info("OCR concluído, texto extraído: {} caracteres", ocrText != null ? ocrText.length() : 0);
 
-            return CompletableFuture.completedFuture(response);
+        BoletoTextScanner.Result extracted = visionService.scanText(ocrText);
 
-        } catch (Exception e) {
-            log.error("Erro ao processar boleto: {}", e.getMessage(), e);
-            return CompletableFuture.failedFuture(e);
+        if (request.getValor() == null) {
+            request.setValor(extracted.getValor());
+        }
+
+        if (request.getVencimento() == null) {
+            request.setVencimento(extracted.getVencimento());
         }
+
+        if (request.getFornecedor() == null || request.getFornecedor().isEmpty()) {
+            request.setFornecedor(extracted.getFornecedor() != null
+                    ? extracted.getFornecedor()
+                    : VisionService.FORNECEDOR_NAO_IDENTIFICADO);
+        }
+
+        if (request.getCodigoBarras() == null || request.getCodigoBarras().isEmpty()) {
+            request.setCodigoBarras(extracted.getCodigoBarras());
+        }
+    }
+
+    /**
+     * Busca um boleto do usuário, sem lançar exceção caso não exista
+     */
+    @Transactional
+    public Optional<BoletoResponse> findBoleto(Long boletoId, Long userId) {
+        return boletoRepository.findByIdOptional(boletoId)
+                .filter(boleto -> boleto.getUser().getId().equals(userId))
+                .map(boleto -> {
+                    BoletoResponse response = toResponse(boleto);
+                    entityManager.detach(boleto);
+                    return response;
+                });
     }
 
     /**
-     * Lista boletos com gestão de memória
+     * Busca o boleto do usuário com o mesmo código de barras (linha digitável ou código de 44 dígitos)
+     */
+    @Transactional
+    public Optional<BoletoResponse> findByCodigoBarras(String codigoBarras, String userEmail) {
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        return findExisting(user.getId(), codigoBarras);
+    }
+
+    /**
+     * Lista boletos por projeção, sem entidades gerenciadas. Sem filtro de datas o total vem dos contadores.
      */
     @Transactional
     public PagedResult<BoletoResponse> listBoletos(
             String userEmail,
             List<BoletoStatus> statuses,
+            Long categoriaId,
             LocalDate dataInicio,
             LocalDate dataFim,
             int page,
@@ -202,49 +480,179 @@ public class BoletoService {
             String sortBy,
             String direction) {
 
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
-//        updateOverdueBoletos(user.getId())
+        long total = countBoletos(user.getId(), statuses, categoriaId, dataInicio, dataFim);
 
-        long total = boletoRepository.countByUserIdWithFilters(
-                user.getId(), statuses, dataInicio, dataFim);
+        List<BoletoResponse> content = boletoRepository.findByUserIdWithFilters(
+                        user.getId(), statuses, categoriaId, dataInicio, dataFim, page, size, sortBy,
+                        "desc".equalsIgnoreCase(direction))
+                .stream()
+                .map(BoletoProjection::toResponse)
+                .collect(Collectors.toList());
 
-        List<BoletoEntity> boletos = boletoRepository.findByUserIdWithFilters(
-                user.getId(), statuses, dataInicio, dataFim, page, size, sortBy, direction);
+        return new PagedResult<>(content, total, page, size);
+    }
 
-        List<BoletoResponse> content = boletos.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Busca textual em fornecedor e observações, ordenada por relevância. O total usa COUNT,
+     * já que os contadores não cobrem o termo.
+     */
+    @Transactional
+    public PagedResult<BoletoResponse> searchBoletos(
+            String userEmail,
+            String q,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            int page,
+            int size) {
+
+        String termo = BoletoEntity.normalizarBusca(q);
+        if (termo.isEmpty()) {
+            throw new IllegalArgumentException("Termo de busca deve conter letras ou números");
+        }
 
-        boletos.clear();
+        UserEntity user = userIdResolver.reference(userEmail);
 
-        entityManager.clear();
+        long total = boletoRepository.countSearchByUserId(
+                user.getId(), termo, statuses, categoriaId, dataInicio, dataFim);
+
+        List<BoletoResponse> content = total == 0 ? List.of() : boletoRepository.searchByUserId(
+                        user.getId(), termo, statuses, categoriaId, dataInicio, dataFim, page, size)
+                .stream()
+                .map(BoletoProjection::toResponse)
+                .collect(Collectors.toList());
 
         return new PagedResult<>(content, total, page, size);
     }
 
+    /**
+     * Lista boletos por keyset: o custo de cada página independe da profundidade.
+     * O total só é contado quando includeTotal for verdadeiro.
+     */
     @Transactional
+    public CursorPage<BoletoResponse> listBoletosByCursor(
+            String userEmail,
+            List<BoletoStatus> statuses,
+            Long categoriaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            String cursor,
+            int size,
+            String sortBy,
+            String direction,
+            boolean includeTotal) {
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        BoletoCursor.Campo campo = BoletoCursor.Campo.of(sortBy);
+        boolean desc = "desc".equalsIgnoreCase(direction);
+        BoletoCursor after = cursor == null || cursor.isBlank() ? null : BoletoCursor.decode(cursor, campo, desc);
+
+        // Um registro a mais indica se existe próxima página
+        List<BoletoProjection> boletos = boletoRepository.findByUserIdAfterCursor(
+                user.getId(), statuses, categoriaId, dataInicio, dataFim, campo.property(), desc,
+                after != null ? after.valor() : null,
+                after != null ? after.id() : null,
+                size + 1);
+
+        boolean hasNext = boletos.size() > size;
+        List<BoletoResponse> content = boletos.stream()
+                .limit(size)
+                .map(BoletoProjection::toResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = hasNext
+                ? BoletoCursor.after(content.get(content.size() - 1), campo, desc).encode()
+                : null;
+
+        Long total = includeTotal
+                ? countBoletos(user.getId(), statuses, categoriaId, dataInicio, dataFim)
+                : null;
+
+        return new CursorPage<>(content, nextCursor, hasNext, total, size);
+    }
+
+    /**
+     * Filtros só por status/categoria são respondidos pelos contadores; intervalos de
+     * vencimento não têm contador e caem no COUNT
+     */
+    private long countBoletos(Long userId, List<BoletoStatus> statuses, Long categoriaId,
+                              LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null && dataFim == null) {
+            return boletoContadorService.total(userId, statuses, categoriaId);
+        }
+        return boletoRepository.countByUserIdWithFilters(userId, statuses, categoriaId, dataInicio, dataFim);
+    }
+
+    /**
+     * Marca o boleto como pago. O comprovante é enviado ao Firebase antes da transação:
+     * o lock do boleto só cobre a troca de status e os contadores.
+     */
     public BoletoResponse pagarBoleto(
             Long boletoId,
             String userEmail,
-            byte[] comprovanteBytes,
+            Path comprovante,
             String comprovanteName,
             Boolean semComprovante) throws IOException {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
+        String comprovanteUrl = null;
+        if (comprovante != null && Files.size(comprovante) > 0) {
+            // Verificação sem lock, para não enviar arquivo de boleto alheio ou inexistente
+            self.checkOwnership(boletoId, userEmail);
+            comprovanteUrl = firebaseService.uploadComprovante(comprovante, comprovanteName);
+        }
+
+        try {
+            return self.marcarPago(boletoId, userEmail, comprovanteUrl, semComprovante);
+        } catch (RuntimeException e) {
+            if (comprovanteUrl != null) {
+                try {
+                    firebaseService.deleteFile(comprovanteUrl);
+                } catch (Exception deleteError) {
+                    log.error("Erro ao remover comprovante órfão do boleto ID: {}", boletoId, deleteError);
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Transactional
+    public void checkOwnership(Long boletoId, String userEmail) {
+        Long userId = userIdResolver.resolve(userEmail);
         BoletoEntity boleto = boletoRepository.findByIdOptional(boletoId)
                 .orElseThrow(() -> new IllegalArgumentException("Boleto não encontrado"));
 
+        if (!boleto.getUser().getId().equals(userId)) {
+            throw new IllegalArgumentException("Boleto não pertence ao usuário");
+        }
+    }
+
+    @Transactional
+    public BoletoResponse marcarPago(Long boletoId, String userEmail, String comprovanteUrl, Boolean semComprovante) {
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        BoletoEntity boleto = boletoRepository.findByIdOptional(boletoId, LockModeType.PESSIMISTIC_WRITE)
+                .orElseThrow(() -> new IllegalArgumentException("Boleto não encontrado"));
+
         if (!boleto.getUser().getId().equals(user.getId())) {
             throw new IllegalArgumentException("Boleto não pertence ao usuário");
         }
 
+        Long categoriaId = boleto.getCategoria() != null ? boleto.getCategoria().getId() : null;
+        boletoContadorService.mover(user.getId(), boleto.getStatus(), categoriaId, BoletoStatus.PAGO, categoriaId, 1);
+        BoletoResumoService.Linha resumoAnterior = BoletoResumoService.Linha.of(boleto);
         boleto.setStatus(BoletoStatus.PAGO);
+        boletoResumoService.atualizar(resumoAnterior, boleto);
+        readReplicaRouter.registerWrite(user.getId());
 
-        if (comprovanteBytes != null && comprovanteBytes.length > 0) {
-            String comprovanteUrl = firebaseService.uploadComprovante(comprovanteBytes, comprovanteName);
+        if (comprovanteUrl != null) {
             boleto.setComprovanteUrl(comprovanteUrl);
             boleto.setSemComprovante(false);
         } else if (Boolean.TRUE.equals(semComprovante)) {
@@ -261,27 +669,136 @@ public class BoletoService {
     }
 
     /**
-     * Process in batches to avoid memory buildup
+     * Preenche valor e vencimento ausentes a partir do código de barras, quando válido
      */
-    @Transactional
-    public void updateOverdueBoletos(Long userId) {
-        var overdueBoletos = boletoRepository.findOverdueBoletosByUserId(userId);
-
-        int batchSize = 20;
-        for (int i = 0; i < overdueBoletos.size(); i++) {
-            BoletoEntity boleto = overdueBoletos.get(i);
-            if (boleto.getStatus() == BoletoStatus.PENDENTE) {
-                boleto.setStatus(BoletoStatus.VENCIDO);
+    private void fillFromCodigoBarras(BoletoRequest request) {
+        if (request.getCodigoBarras() == null || request.getCodigoBarras().isEmpty()
+                || (request.getValor() != null && request.getVencimento() != null)) {
+            return;
+        }
+
+        BoletoBarcodeDecoder.decode(request.getCodigoBarras()).ifPresent(decoded -> {
+            if (request.getValor() == null) {
+                request.setValor(decoded.valor());
+            }
+            if (request.getVencimento() == null) {
+                request.setVencimento(decoded.vencimento());
+            }
+            log.info("Código de barras decodificado: valor {}, vencimento {}", decoded.valor(), decoded.vencimento());
+        });
+    }
+
+    /**
+     * Restrições de BoletoRequest (@NotBlank, @Positive, @Digits). Itens de lote e dados
+     * completados pelo código de barras não passam pelo @Valid do controller; um valor fora de
+     * DECIMAL(10,2) falharia só no flush, derrubando o lote inteiro.
+     */
+    private void validate(BoletoRequest request) {
+        Set<ConstraintViolation<BoletoRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * Completa os dados ausentes, valida e monta a entidade (ainda não persistida)
+     */
+    private BoletoEntity buildBoleto(UserEntity user, BoletoRequest request,
+                                     Function<Long, Optional<CategoriaEntity>> categorias) {
+        fillFromCodigoBarras(request);
+
+        if (request.getValor() == null || request.getVencimento() == null ||
+                request.getFornecedor() == null || request.getFornecedor().isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Dados obrigatórios não fornecidos. Valor, vencimento e fornecedor são necessários.");
+        }
+        validate(request);
+
+        CategoriaEntity categoria = null;
+        if (request.getCategoriaId() != null) {
+            categoria = categorias.apply(request.getCategoriaId())
+                    .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
+
+            if (!categoria.getUser().getId().equals(user.getId())) {
+                throw new IllegalArgumentException("Categoria não pertence ao usuário");
             }
+        }
 
-            if (i % batchSize == 0 && i > 0) {
-                entityManager.flush();
-                entityManager.clear();
+        return BoletoEntity.builder()
+                .user(user)
+                .fornecedor(request.getFornecedor())
+                .valor(request.getValor())
+                .vencimento(request.getVencimento())
+                .codigoBarras(request.getCodigoBarras())
+                .codigoBarrasNormalizado(BoletoBarcodeDecoder.normalize(request.getCodigoBarras()))
+                .status(determineStatus(request.getVencimento()))
+                .observacoes(request.getObservacoes())
+                .categoria(categoria)
+                .build();
+    }
+
+    /**
+     * Procura pela forma canônica e também pelos dígitos crus, que é como os registros
+     * anteriores à normalização foram preenchidos na migração. Sem boleto na tabela quente,
+     * consulta o arquivo: um boleto arquivado escaneado de novo volta como duplicado.
+     */
+    private Optional<BoletoResponse> findExisting(Long userId, String codigoBarras) {
+        List<String> codigos = codigoCandidates(codigoBarras);
+        if (codigos.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return boletoRepository.findByUserIdAndCodigoBarrasNormalizado(userId, codigos)
+                .map(boleto -> {
+                    BoletoResponse response = toResponse(boleto);
+                    entityManager.detach(boleto);
+                    return response;
+                })
+                .or(() -> boletoRepository.findArchivedByUserIdAndCodigoBarrasNormalizado(userId, codigos).values().stream()
+                        .findFirst()
+                        .map(BoletoProjection::toResponse))
+                .map(response -> {
+                    response.setDuplicado(true);
+                    return response;
+                });
+    }
+
+    private static List<String> codigoCandidates(String codigoBarras) {
+        return Stream.of(
+                        BoletoBarcodeDecoder.normalize(codigoBarras),
+                        BoletoBarcodeDecoder.digitsOnly(codigoBarras))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    static BulkScanItemResponse failure(String code, String message) {
+        return BulkScanItemResponse.builder()
+                .status(BulkScanItemResponse.Status.FALHA)
+                .erro(ErrorResponse.ErrorDetail.builder()
+                        .code(code)
+                        .message(message)
+                        .details(List.of())
+                        .build())
+                .build();
+    }
+
+    static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
             }
         }
+        return false;
+    }
 
-        entityManager.flush();
-        entityManager.clear();
+    private boolean isComplete(BoletoRequest request) {
+        return request.getValor() != null
+                && request.getVencimento() != null
+                && request.getFornecedor() != null && !request.getFornecedor().isEmpty();
     }
 
     private BoletoStatus determineStatus(LocalDate vencimento) {
@@ -320,10 +837,9 @@ public class BoletoService {
 
     @Transactional
     public void deletarBoleto(Long boletoId, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
-        BoletoEntity boleto = boletoRepository.findByIdOptional(boletoId)
+        BoletoEntity boleto = boletoRepository.findByIdOptional(boletoId, LockModeType.PESSIMISTIC_WRITE)
                 .orElseThrow(() -> new IllegalArgumentException("Boleto não encontrado"));
 
         if (!boleto.getUser().getId().equals(user.getId())) {
@@ -339,6 +855,9 @@ public class BoletoService {
             }
         }
 
+        boletoContadorService.incrementar(boleto, -1);
+        boletoResumoService.remover(boleto);
+        readReplicaRouter.registerWrite(user.getId());
         boletoRepository.delete(boleto);
         entityManager.flush();
         entityManager.clear();
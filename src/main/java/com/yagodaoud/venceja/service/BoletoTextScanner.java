@@ -0,0 +1,719 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.MoneyDateCodec;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Scanner de passada única sobre o texto OCR de um boleto.
+ * Percorre o texto uma vez e extrai valor, vencimento, fornecedor e código de barras,
+ * registrando a estratégia que produziu cada campo. Não usa regex nem cria substrings
+ * para candidatos descartados.
+ */
+public final class BoletoTextScanner {
+
+    /**
+     * Estratégia que produziu cada campo extraído
+     */
+    public enum Strategy {
+        NONE,
+        LABEL,
+        GENERIC,
+        LATEST_DATE,
+        FIRST_LINE,
+        UPPERCASE,
+        LINHA_DIGITAVEL,
+        LINHA_DIGITAVEL_FLEXIVEL,
+        CODIGO_BARRAS,
+        DECODED
+    }
+
+    /**
+     * Resultado da extração com a estratégia usada para cada campo
+     */
+    @Getter
+    public static final class Result {
+        private BigDecimal valor;
+        private Strategy valorStrategy = Strategy.NONE;
+        private LocalDate vencimento;
+        private Strategy vencimentoStrategy = Strategy.NONE;
+        private String fornecedor;
+        private Strategy fornecedorStrategy = Strategy.NONE;
+        private String codigoBarras;
+        private Strategy codigoBarrasStrategy = Strategy.NONE;
+    }
+
+    // Valores em centavos
+    private static final long VALOR_MAXIMO = 100_000_000L;      // R$ 1.000.000,00 (exclusivo)
+    private static final long VALOR_PREFERIDO_MIN = 1_000L;     // R$ 10,00
+    private static final long VALOR_PREFERIDO_MAX = 10_000_000L; // R$ 100.000,00
+
+    private static final String[] LINE_KEYWORDS = {
+            "RECIBO", "PAGADOR", "DOCUMENTO", "LOCAL", "VENCIMENTO", "AGENCIA"
+    };
+
+    private static final Set<String> PALAVRAS_INVALIDAS = Set.of(
+            // Palavras do boleto que não são o fornecedor
+            "AUTENTICAÇÃO", "AUTENTICACAO", "AUTENTICAÇO", "RECIBO DO SACADO",
+
+            // Palavras de labels comuns
+            "BENEFICIARIO", "PAGADOR", "SACADO", "ENDERECO",
+            "LOCAL DE PAGAMENTO", "VENCIMENTO", "AGENCIA",
+            "CODIGO", "NUMERO", "DOCUMENTO", "DATA", "VALOR"
+    );
+
+    private static final String LETRAS_INICIAIS = "ÁÀÂÃÉÈÊÍÏÓÔÕÖÚÇÑáàâãéèêíïóôõöúçñ";
+    private static final String MAIUSCULAS_ACENTUADAS = "ÁÉÍÓÚÇÑ";
+
+    private final String text;
+    private final int length;
+    private final LocalDate hoje;
+    private final LocalDate limitePassado;
+    private final LocalDate limiteFuturo;
+    private final Result result = new Result();
+
+    // Valor
+    private boolean valorLabelSeen;
+    private long valorLabelCents = -1;
+    private long valorGenericFirst = -1;
+    private long valorGenericPreferred = -1;
+    private int valorGenericResume;
+
+    // Vencimento
+    private boolean vencimentoLabelSeen;
+    private LocalDate vencimentoLabel;
+    private LocalDate vencimentoFuturo;
+    private LocalDate vencimentoMaisRecente;
+    private int dataResume;
+
+    // Fornecedor
+    private boolean beneficiarioSeen;
+    private String fornecedorBeneficiario;
+    private String fornecedorPrimeiraLinha;
+    private String fornecedorMaiusculas;
+    private int maiusculasResume;
+
+    // Código de barras
+    private String linhaDigitavel;
+    private String linhaDigitavelFlexivel;
+    private String codigoBarrasPuro;
+    private int digitRunStart = -1;
+    private int digitRunLength;
+    private boolean digitRunBounded;
+    private char lastVisible;
+
+    private BoletoTextScanner(String text, LocalDate hoje) {
+        this.text = text;
+        this.length = text.length();
+        this.hoje = hoje;
+        this.limitePassado = hoje.minusYears(1);
+        this.limiteFuturo = hoje.plusYears(2);
+    }
+
+    /**
+     * Extrai todos os campos do texto OCR usando a data atual como referência
+     */
+    public static Result scan(String ocrText) {
+        return scan(ocrText, LocalDate.now());
+    }
+
+    /**
+     * Extrai todos os campos do texto OCR usando a data informada como referência
+     */
+    public static Result scan(String ocrText, LocalDate hoje) {
+        if (ocrText == null || ocrText.isEmpty()) {
+            return new Result();
+        }
+        BoletoTextScanner scanner = new BoletoTextScanner(ocrText, hoje);
+        scanner.walk();
+        return scanner.finish();
+    }
+
+    private void walk() {
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (fornecedorPrimeiraLinha == null && (i == 0 || text.charAt(i - 1) == '\n')) {
+                scanLine(i);
+            }
+
+            if (isRegexSpace(c)) {
+                continue;
+            }
+
+            if (c >= '0' && c <= '9') {
+                onDigit(i);
+            } else {
+                endDigitRun(c);
+                onText(i, c);
+            }
+            lastVisible = c;
+        }
+        endDigitRun(' ');
+    }
+
+    private void onText(int i, char c) {
+        switch (c) {
+            case 'R', 'r' -> matchValorGeneric(i);
+            case 'B', 'b' -> {
+                if (!beneficiarioSeen) {
+                    matchBeneficiario(i);
+                }
+            }
+            default -> {
+            }
+        }
+
+        if (c == 'V' || c == 'v') {
+            if (!valorLabelSeen) {
+                matchValorLabel(i);
+            }
+            if (!vencimentoLabelSeen) {
+                matchVencimentoLabel(i);
+            }
+        }
+
+        if (fornecedorMaiusculas == null && i >= maiusculasResume && isMaiuscula(c) && boundaryBefore(i)) {
+            matchMaiusculas(i);
+        }
+    }
+
+    private void onDigit(int i) {
+        if (digitRunStart < 0) {
+            digitRunStart = i;
+            digitRunLength = 0;
+            digitRunBounded = !isWord(lastVisible);
+        }
+        digitRunLength++;
+
+        if (!boundaryBefore(i)) {
+            return;
+        }
+
+        if (i >= dataResume) {
+            matchData(i);
+        }
+
+        if (linhaDigitavel == null) {
+            int end = matchLinhaDigitavel(i);
+            if (end > 0) {
+                linhaDigitavel = collectDigits(i, end);
+            }
+        }
+
+        if (linhaDigitavelFlexivel == null) {
+            int end = matchLinhaDigitavelFlexivel(i);
+            if (end > 0) {
+                linhaDigitavelFlexivel = collectDigits(i, end);
+            }
+        }
+    }
+
+    // ==================== Valor ====================
+
+    /**
+     * VALOR [DO] DOCUMENTO [:\s]* R? $? \s* valor
+     */
+    private void matchValorLabel(int i) {
+        int p = matchWord(i, "VALOR");
+        if (p < 0) return;
+        p = skipSpaces(p, true);
+        if (p < 0) return;
+        int q = matchWord(p, "DO");
+        if (q > 0) {
+            int afterDo = skipSpaces(q, true);
+            if (afterDo > 0 && matchWord(afterDo, "DOCUMENTO") > 0) {
+                p = afterDo;
+            }
+        }
+        p = matchWord(p, "DOCUMENTO");
+        if (p < 0) return;
+
+        while (p < length && (text.charAt(p) == ':' || isRegexSpace(text.charAt(p)))) p++;
+        if (p < length && (text.charAt(p) == 'R' || text.charAt(p) == 'r')) p++;
+        if (p < length && text.charAt(p) == '$') p++;
+        p = skipSpaces(p, false);
+
+        int end = matchMoney(p);
+        if (end < 0) return;
+
+        valorLabelSeen = true;
+        valorLabelCents = MoneyDateCodec.parseCents(text, p, end);
+    }
+
+    /**
+     * R $? \s* valor, sem sobreposição entre ocorrências
+     */
+    private void matchValorGeneric(int i) {
+        if (i < valorGenericResume) return;
+        int p = i + 1;
+        if (p < length && text.charAt(p) == '$') p++;
+        p = skipSpaces(p, false);
+
+        int end = matchMoney(p);
+        if (end < 0) return;
+        valorGenericResume = end;
+
+        long cents = MoneyDateCodec.parseCents(text, p, end);
+        if (!isValorValido(cents)) return;
+
+        if (valorGenericFirst < 0) {
+            valorGenericFirst = cents;
+        }
+        if (valorGenericPreferred < 0 && cents >= VALOR_PREFERIDO_MIN && cents <= VALOR_PREFERIDO_MAX) {
+            valorGenericPreferred = cents;
+        }
+    }
+
+    /**
+     * Casa \d{1,3}([.,]\d{3})*[.,]\d{2} a partir de p e retorna o fim, ou -1
+     */
+    private int matchMoney(int p) {
+        int q = p;
+        while (q < length && q - p < 3 && isDigit(q)) q++;
+        if (q == p) return -1;
+
+        // Grupos de milhar consumidos de forma gulosa; depois volta até achar os centavos
+        int groups = 0;
+        int r = q;
+        while (isSeparator(r) && isDigit(r + 1) && isDigit(r + 2) && isDigit(r + 3)) {
+            r += 4;
+            groups++;
+        }
+        for (int k = groups; k >= 0; k--) {
+            int s = q + 4 * k;
+            if (isSeparator(s) && isDigit(s + 1) && isDigit(s + 2)) {
+                return s + 3;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isValorValido(long cents) {
+        return cents > 0 && cents < VALOR_MAXIMO;
+    }
+
+    // ==================== Vencimento ====================
+
+    /**
+     * VENCIMENTO [:\s]* dd?MM?yyyy
+     */
+    private void matchVencimentoLabel(int i) {
+        int p = matchWord(i, "VENCIMENTO");
+        if (p < 0) return;
+        while (p < length && (text.charAt(p) == ':' || isRegexSpace(text.charAt(p)))) p++;
+
+        int end = matchDateShape(p);
+        if (end < 0) return;
+
+        vencimentoLabelSeen = true;
+        vencimentoLabel = MoneyDateCodec.parseDate(text, p, p + 10);
+    }
+
+    /**
+     * \b dd?MM?yyyy \b, sem sobreposição entre ocorrências
+     */
+    private void matchData(int i) {
+        int end = matchDateShape(i);
+        if (end < 0 || (end < length && isWord(text.charAt(end)))) return;
+        dataResume = end;
+
+        LocalDate date = MoneyDateCodec.parseDate(text, i, i + 10);
+        if (date == null || !isDataVencimentoValida(date)) return;
+
+        if (vencimentoFuturo == null && date.isAfter(hoje.minusDays(1))) {
+            vencimentoFuturo = date;
+        }
+        if (vencimentoMaisRecente == null || date.isAfter(vencimentoMaisRecente)) {
+            vencimentoMaisRecente = date;
+        }
+    }
+
+    private int matchDateShape(int p) {
+        if (isDigit(p) && isDigit(p + 1) && isDateSeparator(p + 2)
+                && isDigit(p + 3) && isDigit(p + 4) && isDateSeparator(p + 5)
+                && isDigit(p + 6) && isDigit(p + 7) && isDigit(p + 8) && isDigit(p + 9)) {
+            return p + 10;
+        }
+        return -1;
+    }
+
+    private boolean isDataVencimentoValida(LocalDate date) {
+        return date.isAfter(limitePassado) && date.isBefore(limiteFuturo);
+    }
+
+    // ==================== Fornecedor ====================
+
+    /**
+     * BENEFICI[AÁ]RIO [:\s]* \n \s* ([^\n]{5,100})
+     */
+    private void matchBeneficiario(int i) {
+        int p = matchWord(i, "BENEFICI");
+        if (p < 0 || p >= length) return;
+        char a = text.charAt(p);
+        if (a != 'A' && a != 'a' && a != 'Á') return;
+        p = matchWord(p + 1, "RIO");
+        if (p < 0) return;
+
+        int lastNewline = -1;
+        while (p < length && (text.charAt(p) == ':' || isRegexSpace(text.charAt(p)))) {
+            if (text.charAt(p) == '\n') lastNewline = p;
+            p++;
+        }
+        if (lastNewline < 0) return;
+
+        int start = lastNewline + 1;
+        int lineEnd = start;
+        while (lineEnd < length && text.charAt(lineEnd) != '\n') lineEnd++;
+        if (lineEnd - (lastNewline + 1) < 5) return;
+
+        // Pula espaços iniciais, mas devolve o necessário para garantir 5 caracteres
+        while (start < lineEnd - 5 && isRegexSpace(text.charAt(start))) start++;
+        int end = Math.min(lineEnd, start + 100);
+
+        beneficiarioSeen = true;
+        String fornecedor = cleanFornecedor(start, end);
+        if (isFornecedorValido(fornecedor)) {
+            fornecedorBeneficiario = fornecedor;
+        }
+    }
+
+    /**
+     * Avalia a linha iniciada em {@code start} como candidata a fornecedor
+     */
+    private void scanLine(int start) {
+        int end = start;
+        while (end < length && text.charAt(end) != '\n') end++;
+
+        int s = start;
+        int e = end;
+        while (s < e && text.charAt(s) <= ' ') s++;
+        while (e > s && text.charAt(e - 1) <= ' ') e--;
+
+        int len = e - s;
+        if (len < 5 || len > 100) return;
+        if (!isLetraInicial(text.charAt(s))) return;
+
+        int digitosSeguidos = 0;
+        for (int k = s; k < e; k++) {
+            digitosSeguidos = isDigit(k) ? digitosSeguidos + 1 : 0;
+            if (digitosSeguidos >= 4) return;
+        }
+        for (String keyword : LINE_KEYWORDS) {
+            if (containsIgnoreCase(s, e, keyword)) return;
+        }
+
+        String fornecedor = cleanFornecedor(s, e);
+        if (isFornecedorValido(fornecedor)) {
+            fornecedorPrimeiraLinha = fornecedor;
+        }
+    }
+
+    /**
+     * \b [A-ZÁÉÍÓÚÇÑ] [A-ZÁÉÍÓÚÇÑ\s&.-]{10,80} \b, sem sobreposição entre ocorrências
+     */
+    private void matchMaiusculas(int i) {
+        int max = i + 1;
+        while (max < length && max - i - 1 < 80 && isMaiusculaOuSeparador(text.charAt(max))) max++;
+
+        for (int end = max; end >= i + 11; end--) {
+            if (isWord(text.charAt(end - 1)) != (end < length && isWord(text.charAt(end)))) {
+                maiusculasResume = end;
+                String candidato = cleanFornecedor(i, end);
+                if (isFornecedorValido(candidato)) {
+                    fornecedorMaiusculas = candidato;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Normaliza espaços e remove pontos/hífens no início e no fim
+     */
+    private String cleanFornecedor(int start, int end) {
+        while (start < end && isTrimChar(text.charAt(start))) start++;
+        while (end > start && isTrimChar(text.charAt(end - 1))) end--;
+
+        StringBuilder sb = new StringBuilder(end - start);
+        boolean pendingSpace = false;
+        for (int k = start; k < end; k++) {
+            char c = text.charAt(k);
+            if (isRegexSpace(c)) {
+                pendingSpace = true;
+            } else {
+                if (pendingSpace) sb.append(' ');
+                pendingSpace = false;
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isFornecedorValido(String fornecedor) {
+        if (fornecedor.length() < 5) {
+            return false;
+        }
+
+        boolean apenasNumeros = true;
+        for (int k = 0; k < fornecedor.length() && apenasNumeros; k++) {
+            char c = fornecedor.charAt(k);
+            apenasNumeros = (c >= '0' && c <= '9') || isRegexSpace(c) || c == '.' || c == ',' || c == '-';
+        }
+        if (apenasNumeros) {
+            return false;
+        }
+
+        return !PALAVRAS_INVALIDAS.contains(fornecedor.toUpperCase());
+    }
+
+    // ==================== Código de barras ====================
+
+    /**
+     * \b ddddd.ddddd \s+ ddddd.dddddd \s+ ddddd.dddddd \s+ d \s+ d{14} \b
+     */
+    private int matchLinhaDigitavel(int i) {
+        int p = digits(i, 5);
+        p = literal(p, '.');
+        p = digits(p, 5);
+        p = spaces(p);
+        p = digits(p, 5);
+        p = literal(p, '.');
+        p = digits(p, 6);
+        p = spaces(p);
+        p = digits(p, 5);
+        p = literal(p, '.');
+        p = digits(p, 6);
+        p = spaces(p);
+        p = digits(p, 1);
+        p = spaces(p);
+        p = digits(p, 14);
+        return boundaryAfter(p);
+    }
+
+    /**
+     * Mesma estrutura da linha digitável, com o ponto opcional e aceitando espaço no lugar dele
+     */
+    private int matchLinhaDigitavelFlexivel(int i) {
+        int p = digits(i, 5);
+        p = optionalSeparator(p);
+        p = digits(p, 5);
+        p = spaces(p);
+        p = digits(p, 5);
+        p = optionalSeparator(p);
+        p = digits(p, 6);
+        p = spaces(p);
+        p = digits(p, 5);
+        p = optionalSeparator(p);
+        p = digits(p, 6);
+        p = spaces(p);
+        p = digits(p, 1);
+        p = spaces(p);
+        p = digits(p, 14);
+        return boundaryAfter(p);
+    }
+
+    /**
+     * Encerra a sequência de dígitos corrente (ignorando espaços) e a registra
+     * como código de barras se tiver entre 44 e 48 dígitos delimitados
+     */
+    private void endDigitRun(char terminator) {
+        if (digitRunStart < 0) return;
+        if (codigoBarrasPuro == null && digitRunBounded && !isWord(terminator)
+                && digitRunLength >= 44 && digitRunLength <= 48) {
+            StringBuilder sb = new StringBuilder(digitRunLength);
+            for (int k = digitRunStart; sb.length() < digitRunLength; k++) {
+                char c = text.charAt(k);
+                if (c >= '0' && c <= '9') sb.append(c);
+            }
+            codigoBarrasPuro = sb.toString();
+        }
+        digitRunStart = -1;
+    }
+
+    private String collectDigits(int start, int end) {
+        StringBuilder sb = new StringBuilder(47);
+        for (int k = start; k < end; k++) {
+            char c = text.charAt(k);
+            if (c >= '0' && c <= '9') sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private int digits(int p, int count) {
+        if (p < 0 || p + count > length) return -1;
+        for (int k = p; k < p + count; k++) {
+            if (!isDigit(k)) return -1;
+        }
+        return p + count;
+    }
+
+    private int literal(int p, char c) {
+        return p >= 0 && p < length && text.charAt(p) == c ? p + 1 : -1;
+    }
+
+    private int optionalSeparator(int p) {
+        if (p >= 0 && p < length && (text.charAt(p) == '.' || isRegexSpace(text.charAt(p)))) {
+            return p + 1;
+        }
+        return p;
+    }
+
+    private int spaces(int p) {
+        if (p < 0 || p >= length || !isRegexSpace(text.charAt(p))) return -1;
+        while (p < length && isRegexSpace(text.charAt(p))) p++;
+        return p;
+    }
+
+    private int boundaryAfter(int p) {
+        if (p < 0) return -1;
+        return p == length || !isWord(text.charAt(p)) ? p : -1;
+    }
+
+    // ==================== Resultado ====================
+
+    private Result finish() {
+        if (valorLabelSeen && isValorValido(valorLabelCents)) {
+            result.valor = MoneyDateCodec.toBigDecimal(valorLabelCents);
+            result.valorStrategy = Strategy.LABEL;
+        } else if (valorGenericFirst >= 0) {
+            long cents = valorGenericPreferred >= 0 ? valorGenericPreferred : valorGenericFirst;
+            result.valor = MoneyDateCodec.toBigDecimal(cents);
+            result.valorStrategy = Strategy.GENERIC;
+        }
+
+        if (vencimentoLabel != null && isDataVencimentoValida(vencimentoLabel)) {
+            result.vencimento = vencimentoLabel;
+            result.vencimentoStrategy = Strategy.LABEL;
+        } else if (vencimentoFuturo != null) {
+            result.vencimento = vencimentoFuturo;
+            result.vencimentoStrategy = Strategy.GENERIC;
+        } else if (vencimentoMaisRecente != null) {
+            result.vencimento = vencimentoMaisRecente;
+            result.vencimentoStrategy = Strategy.LATEST_DATE;
+        }
+
+        if (fornecedorBeneficiario != null) {
+            result.fornecedor = fornecedorBeneficiario;
+            result.fornecedorStrategy = Strategy.LABEL;
+        } else if (fornecedorPrimeiraLinha != null) {
+            result.fornecedor = fornecedorPrimeiraLinha;
+            result.fornecedorStrategy = Strategy.FIRST_LINE;
+        } else if (fornecedorMaiusculas != null) {
+            result.fornecedor = fornecedorMaiusculas;
+            result.fornecedorStrategy = Strategy.UPPERCASE;
+        }
+
+        selectCodigoBarras();
+
+        return result;
+    }
+
+    /**
+     * Escolhe o primeiro código cujos dígitos verificadores conferem, na ordem de prioridade
+     * das estratégias; sem nenhum válido, mantém o primeiro encontrado. Um código válido
+     * fornece valor e vencimento diretamente, sem depender das heurísticas de texto.
+     */
+    private void selectCodigoBarras() {
+        String[] candidatos = {linhaDigitavel, linhaDigitavelFlexivel, codigoBarrasPuro};
+        Strategy[] estrategias = {Strategy.LINHA_DIGITAVEL, Strategy.LINHA_DIGITAVEL_FLEXIVEL, Strategy.CODIGO_BARRAS};
+
+        for (int k = 0; k < candidatos.length; k++) {
+            if (candidatos[k] == null) continue;
+
+            Optional<BoletoBarcodeDecoder.Decoded> decoded = BoletoBarcodeDecoder.decode(candidatos[k], hoje);
+            if (decoded.isPresent()) {
+                result.codigoBarras = candidatos[k];
+                result.codigoBarrasStrategy = estrategias[k];
+                applyDecoded(decoded.get());
+                return;
+            }
+            if (result.codigoBarras == null) {
+                result.codigoBarras = candidatos[k];
+                result.codigoBarrasStrategy = estrategias[k];
+            }
+        }
+    }
+
+    private void applyDecoded(BoletoBarcodeDecoder.Decoded decoded) {
+        if (decoded.valor() != null && isValorValido(decoded.valor().unscaledValue().longValue())) {
+            result.valor = decoded.valor();
+            result.valorStrategy = Strategy.DECODED;
+        }
+        if (decoded.vencimento() != null) {
+            result.vencimento = decoded.vencimento();
+            result.vencimentoStrategy = Strategy.DECODED;
+        }
+    }
+
+    // ==================== Utilitários ====================
+
+    /**
+     * Compara uma palavra ASCII ignorando maiúsculas; retorna a posição após ela ou -1
+     */
+    private int matchWord(int p, String word) {
+        if (p < 0 || !text.regionMatches(true, p, word, 0, word.length())) return -1;
+        return p + word.length();
+    }
+
+    private boolean containsIgnoreCase(int start, int end, String word) {
+        for (int k = start; k + word.length() <= end; k++) {
+            if (text.regionMatches(true, k, word, 0, word.length())) return true;
+        }
+        return false;
+    }
+
+    private int skipSpaces(int p, boolean required) {
+        int q = p;
+        while (q < length && isRegexSpace(text.charAt(q))) q++;
+        return required && q == p ? -1 : q;
+    }
+
+    private boolean boundaryBefore(int i) {
+        return i == 0 || !isWord(text.charAt(i - 1));
+    }
+
+    private boolean isDigit(int p) {
+        if (p < 0 || p >= length) return false;
+        char c = text.charAt(p);
+        return c >= '0' && c <= '9';
+    }
+
+    private boolean isSeparator(int p) {
+        return p < length && (text.charAt(p) == '.' || text.charAt(p) == ',');
+    }
+
+    private boolean isDateSeparator(int p) {
+        if (p >= length) return false;
+        char c = text.charAt(p);
+        return c == '/' || c == '.' || c == '-';
+    }
+
+    private static boolean isWord(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isTrimChar(char c) {
+        return c == '-' || c == '.' || isRegexSpace(c);
+    }
+
+    private static boolean isMaiuscula(char c) {
+        return (c >= 'A' && c <= 'Z') || MAIUSCULAS_ACENTUADAS.indexOf(c) >= 0;
+    }
+
+    private static boolean isMaiusculaOuSeparador(char c) {
+        return isMaiuscula(c) || isRegexSpace(c) || c == '&' || c == '.' || c == '-';
+    }
+
+    private static boolean isLetraInicial(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || LETRAS_INICIAIS.indexOf(c) >= 0;
+    }
+}
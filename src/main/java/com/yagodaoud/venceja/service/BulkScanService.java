@@ -0,0 +1,291 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.BoletoRequest;
+import com.yagodaoud.venceja.dto.BulkScanItemResponse;
+import com.yagodaoud.venceja.dto.BulkScanResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Scan em lote: vários arquivos (ou um zip) em uma requisição. OCR e extração rodam em
+ * paralelo, limitados por scan.bulk.concurrency (compartilhado entre requisições), e os
+ * boletos são gravados em uma única transação. Falhas são reportadas por arquivo.
+ * A fila é limitada (lote recusado com 503 quando cheia) e cada lote tem prazo
+ * (scan.bulk.timeout); arquivos não processados no prazo falham com TIMEOUT.
+ */
+@Slf4j
+@ApplicationScoped
+public class BulkScanService {
+
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+
+    @Inject
+    BoletoService boletoService;
+
+    @ConfigProperty(name = "scan.bulk.concurrency", defaultValue = "8")
+    int concurrency;
+
+    // Chamadas simultâneas ao OCR; acima disso o bulkhead rejeita na hora
+    @ConfigProperty(name = "com.yagodaoud.venceja.service.VisionService/recognize/Bulkhead/value", defaultValue = "10")
+    int ocrBulkhead;
+
+    @ConfigProperty(name = "scan.bulk.max-files", defaultValue = "100")
+    int maxFiles;
+
+    @ConfigProperty(name = "scan.bulk.max-file-size", defaultValue = "20971520")
+    long maxFileSize;
+
+    @ConfigProperty(name = "scan.bulk.queue-capacity", defaultValue = "200")
+    int queueCapacity;
+
+    @ConfigProperty(name = "scan.bulk.timeout", defaultValue = "5m")
+    Duration timeout;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Arquivo do lote; path nulo indica arquivo (ou entrada de zip) rejeitado por tamanho
+     */
+    public record BulkFile(String name, Path path) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (concurrency > ocrBulkhead) {
+            log.warn("scan.bulk.concurrency ({}) acima do bulkhead do OCR ({}), usando {}", concurrency, ocrBulkhead, ocrBulkhead);
+            concurrency = ocrBulkhead;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-scan-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executor.shutdown();
+    }
+
+    /**
+     * Processa os arquivos enviados; categoria e observações de defaults valem para todos
+     */
+    public BulkScanResponse scan(List<BulkFile> files, BoletoRequest defaults, String userEmail) throws IOException {
+        long start = System.currentTimeMillis();
+        List<Path> extracted = new ArrayList<>();
+
+        try {
+            List<BulkFile> entries = expand(files, extracted);
+            if (entries.isEmpty()) {
+                throw new IllegalArgumentException("Nenhum arquivo enviado");
+            }
+
+            List<CompletableFuture<BoletoRequest>> futures = submitAll(entries, defaults);
+            long deadline = System.nanoTime() + timeout.toNanos();
+
+            BulkScanItemResponse[] results = new BulkScanItemResponse[entries.size()];
+            List<BoletoRequest> requests = new ArrayList<>(entries.size());
+            List<Integer> indexes = new ArrayList<>(entries.size());
+
+            for (int i = 0; i < entries.size(); i++) {
+                try {
+                    requests.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                    indexes.add(i);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Falha no scan em lote do arquivo {}: {}", entries.get(i).name(), cause.getMessage());
+                    results[i] = failure(cause);
+                } catch (TimeoutException e) {
+                    // Arquivos ainda na fila são descartados sem processar
+                    futures.get(i).cancel(false);
+                    results[i] = BoletoService.failure("TIMEOUT", "Tempo limite do lote excedido");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(future -> future.cancel(false));
+                    throw new IOException("Scan em lote interrompido", e);
+                }
+            }
+
+            if (!requests.isEmpty()) {
+                List<BulkScanItemResponse> inserted = boletoService.createBoletos(requests, userEmail);
+                for (int k = 0; k < inserted.size(); k++) {
+                    results[indexes.get(k)] = inserted.get(k);
+                }
+            }
+
+            for (int i = 0; i < results.length; i++) {
+                results[i].setArquivo(entries.get(i).name());
+            }
+
+            BulkScanResponse response = BulkScanResponse.of(List.of(results));
+            log.info("Scan em lote concluído em {} ms: {} arquivos, {} criados, {} duplicados, {} falhas",
+                    System.currentTimeMillis() - start, response.getTotal(), response.getCriados(),
+                    response.getDuplicados(), response.getFalhas());
+
+            return response;
+
+        } finally {
+            for (Path path : extracted) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Erro ao remover arquivo temporário {}: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Enfileira a extração de todos os arquivos; sem espaço na fila o lote inteiro é recusado
+     */
+    private List<CompletableFuture<BoletoRequest>> submitAll(List<BulkFile> entries, BoletoRequest defaults) {
+        List<CompletableFuture<BoletoRequest>> futures = new ArrayList<>(entries.size());
+        try {
+            for (BulkFile entry : entries) {
+                futures.add(CompletableFuture.supplyAsync(() -> extract(entry, defaults), executor));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(false));
+            log.warn("Fila do scan em lote cheia, lote de {} arquivos recusado", entries.size());
+            throw new ScanCapacityException("Capacidade de scan em lote esgotada; tente novamente em instantes");
+        }
+        return futures;
+    }
+
+    private BoletoRequest extract(BulkFile file, BoletoRequest defaults) {
+        if (file.path() == null) {
+            throw new IllegalArgumentException("Arquivo excede o tamanho máximo de " + maxFileSize + " bytes");
+        }
+
+        BoletoRequest request = new BoletoRequest();
+        if (defaults != null) {
+            request.setCategoriaId(defaults.getCategoriaId());
+            request.setObservacoes(defaults.getObservacoes());
+        }
+
+        try {
+            boletoService.completeFromDocument(file.path(), request);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        return request;
+    }
+
+    /**
+     * Substitui zips pelas suas entradas, gravadas em arquivos temporários
+     */
+    private List<BulkFile> expand(List<BulkFile> files, List<Path> extracted) throws IOException {
+        List<BulkFile> entries = new ArrayList<>();
+
+        for (BulkFile file : files) {
+            if (isZip(file.path())) {
+                unzip(file.path(), entries, extracted);
+            } else if (Files.size(file.path()) > maxFileSize) {
+                entries.add(new BulkFile(file.name(), null));
+            } else {
+                entries.add(file);
+            }
+
+            if (entries.size() > maxFiles) {
+                throw new IllegalArgumentException("Limite de " + maxFiles + " arquivos por lote excedido");
+            }
+        }
+        return entries;
+    }
+
+    private void unzip(Path zip, List<BulkFile> entries, List<Path> extracted) throws IOException {
+        try (ZipInputStream input = new ZipInputStream(Files.newInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                // O caminho da entrada nunca é usado para gravar, apenas o nome para exibição
+                String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                if (entry.isDirectory() || name.isEmpty() || name.startsWith(".")
+                        || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+
+                if (entries.size() >= maxFiles) {
+                    throw new IllegalArgumentException("Limite de " + maxFiles + " arquivos por lote excedido");
+                }
+
+                Path target = Files.createTempFile("bulk-scan-", null);
+                extracted.add(target);
+                entries.add(new BulkFile(name, copyLimited(input, target) ? target : null));
+            }
+        }
+    }
+
+    /**
+     * Copia a entrada atual do zip; retorna false se ultrapassar o tamanho máximo
+     */
+    private boolean copyLimited(InputStream input, Path target) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+
+        try (OutputStream output = Files.newOutputStream(target)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                total += read;
+                if (total > maxFileSize) {
+                    return false;
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZip(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            byte[] header = input.readNBytes(ZIP_MAGIC.length);
+            return Arrays.equals(header, ZIP_MAGIC);
+        }
+    }
+
+    private static BulkScanItemResponse failure(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : "Erro desconhecido";
+
+        String code;
+        if (error instanceof IllegalArgumentException) {
+            code = "INVALID_REQUEST";
+        } else if (error instanceof ScanCapacityException) {
+            code = "SERVICE_BUSY";
+        } else if (OcrException.isCause(error)) {
+            code = "OCR_FAIL";
+        } else {
+            code = "INTERNAL_ERROR";
+        }
+
+        return BoletoService.failure(code, message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.CategoriaResponse;
+import com.yagodaoud.venceja.dto.PagedResult;
+import com.yagodaoud.venceja.repository.CategoriaReactiveRepository;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Listagem de categorias sem bloqueio, pelo cliente reativo (ver BoletoReadService). Sem
+ * pool reativo delega ao CategoriaService em uma worker thread.
+ */
+@ApplicationScoped
+public class CategoriaReadService {
+
+    @Inject
+    CategoriaReactiveRepository categoriaReactiveRepository;
+
+    @Inject
+    CategoriaService categoriaService;
+
+    @Inject
+    UserIdResolver userIdResolver;
+
+    public Uni<PagedResult<CategoriaResponse>> listCategorias(String userEmail, int page, int size) {
+        if (!categoriaReactiveRepository.available()) {
+            return Uni.createFrom().item(() -> categoriaService.listCategorias(userEmail, page, size))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }
+
+        return userIdResolver.resolveReactive(userEmail).flatMap(userId -> Uni.combine().all()
+                .unis(
+                        categoriaReactiveRepository.findByUserId(userId, page, size),
+                        categoriaReactiveRepository.countByUserId(userId))
+                .asTuple()
+                .map(result -> new PagedResult<>(result.getItem1(), result.getItem2(), page, size)));
+    }
+}
@@ -6,7 +6,7 @@ import com.yagodaoud.venceja.dto.PagedResult;
 import com.yagodaoud.venceja.entity.CategoriaEntity;
 import com.yagodaoud.venceja.entity.UserEntity;
 import com.yagodaoud.venceja.repository.CategoriaRepository;
-import com.yagodaoud.venceja.repository.UserRepository;
+import com.yagodaoud.venceja.repository.ReadReplicaRouter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -17,7 +17,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Serviço para gerenciamento de categorias
+ * Serviço para gerenciamento de categorias. Categorias e as consultas por usuário ficam no
+ * cache de segundo nível; criar, atualizar ou excluir pelo Hibernate invalida a entidade e a
+ * região categorias-por-usuario no commit, então escritas em categorias não devem usar SQL nativo.
+ * A listagem usa o CategoriaReadService (reativo), e listCategorias atende quando não há pool
+ * reativo (perfil dev, com H2, ou sem DATABASE_REACTIVE_URL).
  */
 @Slf4j
 @ApplicationScoped
@@ -27,15 +31,23 @@ public class CategoriaService {
     CategoriaRepository categoriaRepository;
 
     @Inject
-    UserRepository userRepository;
+    UserIdResolver userIdResolver;
+
+    @Inject
+    BoletoContadorService boletoContadorService;
+
+    @Inject
+    BoletoResumoService boletoResumoService;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
 
     /**
      * Lista categorias do usuário com paginação
      */
     @Transactional // readOnly not supported directly
     public PagedResult<CategoriaResponse> listCategorias(String userEmail, int page, int size) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         List<CategoriaEntity> categorias = categoriaRepository.findByUserId(user.getId(), page, size);
         long total = categoriaRepository.countByUserId(user.getId());
@@ -52,8 +64,7 @@ public class CategoriaService {
      */
     @Transactional
     public CategoriaResponse createCategoria(CategoriaRequest request, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         CategoriaEntity categoria = CategoriaEntity.builder()
                 .user(user)
@@ -63,6 +74,7 @@ public class CategoriaService {
                 .build();
 
         categoriaRepository.persist(categoria);
+        readReplicaRouter.registerWrite(user.getId());
         log.info("Categoria criada: ID {}", categoria.getId());
 
         return toResponse(categoria);
@@ -73,8 +85,7 @@ public class CategoriaService {
      */
     @Transactional
     public CategoriaResponse updateCategoria(Long id, CategoriaRequest request, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         CategoriaEntity categoria = categoriaRepository.findByIdOptional(id)
                 .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
@@ -87,6 +98,7 @@ public class CategoriaService {
         categoria.setNome(request.getNome());
         categoria.setCor(request.getCor());
         categoria.setUpdatedAt(LocalDateTime.now());
+        readReplicaRouter.registerWrite(user.getId());
 
         // Entity is managed, changes are automatically flushed on commit
         log.info("Categoria atualizada: ID {}", categoria.getId());
@@ -99,8 +111,7 @@ public class CategoriaService {
      */
     @Transactional
     public void deleteCategoria(Long id, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         CategoriaEntity categoria = categoriaRepository.findByIdOptional(id)
                 .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
@@ -109,7 +120,11 @@ public class CategoriaService {
             throw new IllegalArgumentException("Categoria não pertence ao usuário");
         }
 
+        // Os boletos ficam sem categoria (ON DELETE SET NULL), assim como seus contadores
+        boletoContadorService.moverCategoria(user.getId(), categoria.getId());
+        boletoResumoService.moverCategoria(user.getId(), categoria.getId());
         categoriaRepository.delete(categoria);
+        readReplicaRouter.registerWrite(user.getId());
         log.info("Categoria deletada: ID {}", id);
     }
 
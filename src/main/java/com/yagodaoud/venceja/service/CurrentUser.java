@@ -0,0 +1,53 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.config.JwtService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonString;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.util.Optional;
+
+/**
+ * Usuário autenticado na requisição, a partir do JWT já verificado
+ */
+@RequestScoped
+public class CurrentUser {
+
+    @Inject
+    JsonWebToken jwt;
+
+    /**
+     * Id do usuário presente no token, se o token for desse email e tiver a claim
+     * (tokens emitidos antes da claim existir não a possuem)
+     */
+    public Optional<Long> tokenUserId(String email) {
+        if (email == null || !email.equals(jwt.getName())) {
+            return Optional.empty();
+        }
+
+        Object claim = jwt.getClaim(JwtService.USER_ID_CLAIM);
+        if (claim instanceof JsonNumber number) {
+            return Optional.of(number.longValue());
+        }
+        if (claim instanceof Number number) {
+            return Optional.of(number.longValue());
+        }
+        if (claim instanceof JsonString text) {
+            return parse(text.getString());
+        }
+        if (claim instanceof String text) {
+            return parse(text);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Long> parse(String text) {
+        try {
+            return Optional.of(Long.valueOf(text));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.yagodaoud.venceja.service;
+
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Motor de OCR local e determinístico para testes de carga sem acesso ao Google Vision.
+ * Cada imagem de fixture (ex.: luz.jpg) é associada ao texto do arquivo .txt de mesmo nome;
+ * conteúdos desconhecidos recebem o texto padrão de um boleto de exemplo.
+ */
+@Slf4j
+@ApplicationScoped
+@LookupIfProperty(name = "ocr.engine", stringValue = "fake")
+public class FakeOcrEngine implements OcrEngine {
+
+    static final String DEFAULT_TEXT = """
+            EMPRESA DEMONSTRACAO LTDA
+            BANCO BRADESCO S.A.
+            Vencimento 10/12/2026
+            Valor do Documento R$ 150,75
+            23791.23454 67890.123457 67890.123457 4 16560000015075
+            """;
+
+    @Inject
+    OcrCacheService ocrCacheService;
+
+    @Inject
+    ImagePreprocessingService imagePreprocessingService;
+
+    @ConfigProperty(name = "ocr.fake.fixtures-dir")
+    Optional<String> fixturesDir;
+
+    @ConfigProperty(name = "ocr.fake.latency-ms", defaultValue = "0")
+    long latencyMs;
+
+    private final Map<String, String> fixtures = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        log.warn("Motor de OCR fake ativo: o Google Vision não será chamado");
+
+        if (fixturesDir.isEmpty()) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(fixturesDir.get()))) {
+            for (Path image : files) {
+                String name = image.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (dot <= 0 || name.endsWith(".txt")) {
+                    continue;
+                }
+
+                Path textFile = image.resolveSibling(name.substring(0, dot) + ".txt");
+                if (!Files.exists(textFile)) {
+                    continue;
+                }
+
+                String text = Files.readString(textFile, StandardCharsets.UTF_8);
+                ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(image));
+
+                // Indexa o arquivo original e a versão pré-processada, que é o que chega ao motor
+                fixtures.put(ocrCacheService.hash(content), text);
+                imagePreprocessingService.preprocess(content)
+                        .ifPresent(processed -> fixtures.put(ocrCacheService.hash(ByteBuffer.wrap(processed)), text));
+            }
+            log.info("OCR fake carregou {} fixtures de {}", fixtures.size(), fixturesDir.get());
+
+        } catch (IOException e) {
+            log.error("Erro ao carregar fixtures do OCR fake: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String detectText(ByteBuffer content) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OcrException("Falha ao processar OCR: requisição interrompida", e);
+            }
+        }
+
+        return fixtures.getOrDefault(ocrCacheService.hash(content), DEFAULT_TEXT);
+    }
+}
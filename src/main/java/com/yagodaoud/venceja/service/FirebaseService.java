@@ -15,6 +15,7 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -92,24 +93,28 @@ public class FirebaseService {
         }
 
         try {
-            String objectName = "boletos/" + System.currentTimeMillis() + "_" + fileName;
-
-            BlobId blobId = BlobId.of(bucketName, objectName);
-            BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                    .setContentType(contentType)
-                    .build();
-
+            BlobInfo blobInfo = newBlobInfo(fileName, contentType);
             storage.create(blobInfo, fileBytes);
+            return signUrl(blobInfo);
+
+        } catch (Exception e) {
+            log.error("Erro ao fazer upload do arquivo: {}", e.getMessage(), e);
+            throw new IOException("Erro ao fazer upload do arquivo: " + e.getMessage(), e);
+        }
+    }
 
-            // Gera URL assinada válida por 1 ano
-            URL signedUrl = storage.signUrl(
-                    blobInfo,
-                    7,
-                    TimeUnit.DAYS,
-                    Storage.SignUrlOption.withV4Signature());
+    /**
+     * Faz upload transmitindo o arquivo do disco, sem carregá-lo inteiro no heap
+     */
+    public String uploadFile(Path file, String fileName, String contentType) throws IOException {
+        if (storage == null) {
+            return "https://storage.googleapis.com/dummy-bucket/" + fileName;
+        }
 
-            log.info("Arquivo enviado com sucesso: {}", objectName);
-            return signedUrl.toString();
+        try {
+            BlobInfo blobInfo = newBlobInfo(fileName, contentType);
+            storage.createFrom(blobInfo, file);
+            return signUrl(blobInfo);
 
         } catch (Exception e) {
             log.error("Erro ao fazer upload do arquivo: {}", e.getMessage(), e);
@@ -117,6 +122,27 @@ public class FirebaseService {
         }
     }
 
+    private BlobInfo newBlobInfo(String fileName, String contentType) {
+        String objectName = "boletos/" + System.currentTimeMillis() + "_" + fileName;
+
+        BlobId blobId = BlobId.of(bucketName, objectName);
+        return BlobInfo.newBuilder(blobId)
+                .setContentType(contentType)
+                .build();
+    }
+
+    private String signUrl(BlobInfo blobInfo) {
+        // Gera URL assinada válida por 1 ano
+        URL signedUrl = storage.signUrl(
+                blobInfo,
+                7,
+                TimeUnit.DAYS,
+                Storage.SignUrlOption.withV4Signature());
+
+        log.info("Arquivo enviado com sucesso: {}", blobInfo.getName());
+        return signedUrl.toString();
+    }
+
     /**
      * Faz upload de imagem de boleto
      */
@@ -125,13 +151,13 @@ public class FirebaseService {
     }
 
     /**
-     * Faz upload de comprovante
+     * Faz upload de comprovante a partir do arquivo temporário do multipart
      */
-    public String uploadComprovante(byte[] fileBytes, String fileName) throws IOException {
+    public String uploadComprovante(Path file, String fileName) throws IOException {
         String contentType = fileName.toLowerCase().endsWith(".pdf")
                 ? "application/pdf"
                 : "image/jpeg";
-        return uploadFile(fileBytes, fileName, contentType);
+        return uploadFile(file, fileName, contentType);
     }
 
     /**
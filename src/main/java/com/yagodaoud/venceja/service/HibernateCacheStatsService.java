@@ -0,0 +1,56 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.HibernateCacheStatsResponse;
+import com.yagodaoud.venceja.entity.CategoriaEntity;
+import com.yagodaoud.venceja.entity.UserEntity;
+import com.yagodaoud.venceja.repository.CategoriaRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+
+/**
+ * Leitura das estatísticas do cache de segundo nível (categorias, usuários e a consulta
+ * de categorias por usuário)
+ */
+@ApplicationScoped
+public class HibernateCacheStatsService {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    public HibernateCacheStatsResponse getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        return HibernateCacheStatsResponse.builder()
+                .statisticsEnabled(statistics.isStatisticsEnabled())
+                .regions(List.of(
+                        region(CategoriaEntity.class.getName(),
+                                statistics.getDomainDataRegionStatistics(CategoriaEntity.class.getName())),
+                        region(UserEntity.class.getName(),
+                                statistics.getDomainDataRegionStatistics(UserEntity.class.getName())),
+                        // A região de consultas só existe após a primeira consulta cacheável
+                        region(CategoriaRepository.CACHE_REGION_POR_USUARIO,
+                                statistics.getQueryRegionStatistics(CategoriaRepository.CACHE_REGION_POR_USUARIO))))
+                .build();
+    }
+
+    private static HibernateCacheStatsResponse.Region region(String name, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return HibernateCacheStatsResponse.Region.builder().name(name).build();
+        }
+
+        long total = stats.getHitCount() + stats.getMissCount();
+        return HibernateCacheStatsResponse.Region.builder()
+                .name(name)
+                .hits(stats.getHitCount())
+                .misses(stats.getMissCount())
+                .puts(stats.getPutCount())
+                .entries(stats.getElementCountInMemory())
+                .hitRatio(total > 0 ? (double) stats.getHitCount() / total : 0.0)
+                .build();
+    }
+}
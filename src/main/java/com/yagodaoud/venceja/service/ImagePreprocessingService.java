@@ -0,0 +1,317 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.ImagePreprocessingStatsResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pré-processamento de imagens antes do envio ao Google Vision: corrige a orientação
+ * EXIF, converte para tons de cinza, reduz para a dimensão máxima configurada e
+ * recodifica em JPEG. PDFs e formatos não suportados seguem sem alteração.
+ * A imagem é lida diretamente do buffer (ex.: arquivo mapeado), sem cópia para um byte[].
+ */
+@Slf4j
+@ApplicationScoped
+public class ImagePreprocessingService {
+
+    @ConfigProperty(name = "image.preprocessing.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "image.preprocessing.max-dimension", defaultValue = "2048")
+    int maxDimension;
+
+    @ConfigProperty(name = "image.preprocessing.jpeg-quality", defaultValue = "0.85")
+    float jpegQuality;
+
+    @ConfigProperty(name = "image.preprocessing.grayscale", defaultValue = "true")
+    boolean grayscale;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong elapsedNanos = new AtomicLong();
+
+    /**
+     * Retorna a imagem otimizada, ou vazio se o conteúdo original deve ser enviado
+     */
+    public Optional<byte[]> preprocess(ByteBuffer content) {
+        int originalSize = content == null ? 0 : content.remaining();
+        if (!enabled || originalSize == 0 || PdfTextExtractor.isPdf(content)) {
+            skipped.incrementAndGet();
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        try {
+            int orientation = ExifOrientation.read(content);
+            BufferedImage image = decode(content);
+            if (image == null) {
+                skipped.incrementAndGet();
+                return Optional.empty();
+            }
+
+            byte[] result = encodeJpeg(transform(image, orientation));
+            long elapsed = System.nanoTime() - start;
+
+            if (result.length >= originalSize && orientation <= 1) {
+                log.debug("Pré-processamento não reduziu a imagem ({} bytes), mantendo original", originalSize);
+                skipped.incrementAndGet();
+                return Optional.empty();
+            }
+
+            processed.incrementAndGet();
+            bytesIn.addAndGet(originalSize);
+            bytesOut.addAndGet(result.length);
+            elapsedNanos.addAndGet(elapsed);
+
+            log.info("Imagem pré-processada: {} -> {} bytes ({} bytes economizados) em {} ms",
+                    originalSize, result.length, originalSize - result.length, elapsed / 1_000_000);
+            return Optional.of(result);
+
+        } catch (Exception e) {
+            log.warn("Erro ao pré-processar imagem, enviando original: {}", e.getMessage());
+            skipped.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    public ImagePreprocessingStatsResponse getStats() {
+        long count = processed.get();
+        return ImagePreprocessingStatsResponse.builder()
+                .processed(count)
+                .skipped(skipped.get())
+                .bytesIn(bytesIn.get())
+                .bytesOut(bytesOut.get())
+                .bytesSaved(bytesIn.get() - bytesOut.get())
+                .averageMillis(count > 0 ? elapsedNanos.get() / 1_000_000.0 / count : 0.0)
+                .build();
+    }
+
+    /**
+     * Decodifica a imagem com subamostragem quando ela é muito maior que a dimensão
+     * máxima, evitando alocar o bitmap completo de fotos de celular
+     */
+    private BufferedImage decode(ByteBuffer content) throws Exception {
+        try (ImageInputStream input = new ByteBufferImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int largest = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Arredonda para cima: a imagem decodificada já cabe na dimensão máxima
+                int subsampling = Math.max(1, (largest + maxDimension - 1) / maxDimension);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Aplica orientação, escala e conversão de cor em uma única operação de desenho
+     */
+    private BufferedImage transform(BufferedImage source, int orientation) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int w = Math.max(1, (int) Math.round(width * scale));
+        int h = Math.max(1, (int) Math.round(height * scale));
+
+        boolean swap = orientation >= 5 && orientation <= 8;
+        int targetWidth = swap ? h : w;
+        int targetHeight = swap ? w : h;
+
+        // x' = m00*x + m01*y + m02 ; y' = m10*x + m11*y + m12
+        AffineTransform at = switch (orientation) {
+            case 2 -> new AffineTransform(-scale, 0, 0, scale, w, 0);
+            case 3 -> new AffineTransform(-scale, 0, 0, -scale, w, h);
+            case 4 -> new AffineTransform(scale, 0, 0, -scale, 0, h);
+            case 5 -> new AffineTransform(0, scale, scale, 0, 0, 0);
+            case 6 -> new AffineTransform(0, scale, -scale, 0, h, 0);
+            case 7 -> new AffineTransform(0, -scale, -scale, 0, h, w);
+            case 8 -> new AffineTransform(0, -scale, scale, 0, 0, w);
+            default -> AffineTransform.getScaleInstance(scale, scale);
+        };
+
+        int type = grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, at, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws Exception {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * ImageInputStream sobre um ByteBuffer; evita o cache em disco/memória que o
+     * ImageIO cria para InputStreams genéricos
+     */
+    static final class ByteBufferImageInputStream extends ImageInputStreamImpl {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferImageInputStream(ByteBuffer content) {
+            this.buffer = content.slice();
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkClosed();
+            bitOffset = 0;
+            if (streamPos >= buffer.limit()) {
+                return -1;
+            }
+            return buffer.get((int) streamPos++) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkClosed();
+            bitOffset = 0;
+            int available = buffer.limit() - (int) streamPos;
+            if (len == 0) {
+                return 0;
+            }
+            if (available <= 0) {
+                return -1;
+            }
+            int count = Math.min(len, available);
+            buffer.get((int) streamPos, b, off, count);
+            streamPos += count;
+            return count;
+        }
+
+        @Override
+        public long length() {
+            return buffer.limit();
+        }
+    }
+
+    /**
+     * Leitura mínima da tag Orientation (0x0112) do segmento APP1/Exif de um JPEG
+     */
+    static final class ExifOrientation {
+
+        private ExifOrientation() {
+        }
+
+        static int read(ByteBuffer content) {
+            ByteBuffer jpeg = content.slice();
+            int length = jpeg.limit();
+            if (length < 4 || u8(jpeg, 0) != 0xFF || u8(jpeg, 1) != 0xD8) {
+                return 1;
+            }
+
+            int pos = 2;
+            while (pos + 4 <= length && u8(jpeg, pos) == 0xFF) {
+                int marker = u8(jpeg, pos + 1);
+                int segmentLength = (u8(jpeg, pos + 2) << 8) | u8(jpeg, pos + 3);
+                if (marker == 0xDA || segmentLength < 2) {
+                    break; // início dos dados da imagem
+                }
+                if (marker == 0xE1 && isExifHeader(jpeg, pos + 4)) {
+                    return readTiffOrientation(jpeg, pos + 10, Math.min(length, pos + 2 + segmentLength));
+                }
+                pos += 2 + segmentLength;
+            }
+            return 1;
+        }
+
+        private static boolean isExifHeader(ByteBuffer b, int p) {
+            return p + 6 <= b.limit()
+                    && b.get(p) == 'E' && b.get(p + 1) == 'x' && b.get(p + 2) == 'i' && b.get(p + 3) == 'f'
+                    && b.get(p + 4) == 0 && b.get(p + 5) == 0;
+        }
+
+        private static int readTiffOrientation(ByteBuffer b, int tiff, int end) {
+            if (tiff + 8 > end) {
+                return 1;
+            }
+            boolean littleEndian = b.get(tiff) == 'I' && b.get(tiff + 1) == 'I';
+            long offset = u32(b, tiff + 4, littleEndian);
+            if (offset < 8 || tiff + offset + 2 > end) {
+                return 1;
+            }
+            int ifd = tiff + (int) offset;
+
+            int entries = u16(b, ifd, littleEndian);
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (entry + 12 > end) {
+                    break;
+                }
+                if (u16(b, entry, littleEndian) == 0x0112) {
+                    int value = u16(b, entry + 8, littleEndian);
+                    return value >= 1 && value <= 8 ? value : 1;
+                }
+            }
+            return 1;
+        }
+
+        private static int u8(ByteBuffer b, int p) {
+            return b.get(p) & 0xFF;
+        }
+
+        private static int u16(ByteBuffer b, int p, boolean littleEndian) {
+            return littleEndian
+                    ? u8(b, p) | (u8(b, p + 1) << 8)
+                    : (u8(b, p) << 8) | u8(b, p + 1);
+        }
+
+        private static long u32(ByteBuffer b, int p, boolean littleEndian) {
+            return littleEndian
+                    ? (u16(b, p, true) & 0xFFFFL) | ((long) u16(b, p + 2, true) << 16)
+                    : ((long) u16(b, p, false) << 16) | (u16(b, p + 2, false) & 0xFFFFL);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.dto.OcrCacheStatsResponse;
+import com.yagodaoud.venceja.entity.OcrCacheEntity;
+import com.yagodaoud.venceja.repository.OcrCacheRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de resultados de OCR indexado pelo SHA-256 do arquivo.
+ * Primeiro nível em memória (LRU limitado), segundo nível na tabela ocr_cache.
+ */
+@Slf4j
+@ApplicationScoped
+public class OcrCacheService {
+
+    @Inject
+    OcrCacheRepository ocrCacheRepository;
+
+    @ConfigProperty(name = "ocr.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "ocr.cache.max-entries", defaultValue = "500")
+    int maxEntries;
+
+    @ConfigProperty(name = "ocr.cache.ttl", defaultValue = "30D")
+    Duration ttl;
+
+    private Map<String, CachedText> memoryCache;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record CachedText(String texto, LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedText> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Calcula o SHA-256 do conteúdo em hexadecimal, sem alterar a posição do buffer
+     */
+    public String hash(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content.duplicate());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    /**
+     * Busca texto OCR em cache, primeiro em memória e depois no banco
+     */
+    @Transactional
+    public Optional<String> get(String contentHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        LocalDateTime minCreatedAt = minCreatedAt();
+
+        CachedText cached = memoryCache.get(contentHash);
+        if (cached != null) {
+            if (cached.createdAt().isBefore(minCreatedAt)) {
+                memoryCache.remove(contentHash);
+            } else {
+                memoryHits.incrementAndGet();
+                return Optional.of(cached.texto());
+            }
+        }
+
+        Optional<OcrCacheEntity> persisted = ocrCacheRepository.findValidByHash(contentHash, minCreatedAt);
+        if (persisted.isPresent()) {
+            OcrCacheEntity entity = persisted.get();
+            memoryCache.put(contentHash, new CachedText(entity.getTexto(), entity.getCreatedAt()));
+            databaseHits.incrementAndGet();
+            return Optional.of(entity.getTexto());
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Armazena o texto OCR em memória e no banco. Texto vazio (foto borrada, Vision sem
+     * resultado) não é guardado, para que um novo envio do mesmo arquivo refaça o OCR.
+     */
+    @Transactional
+    public void put(String contentHash, String texto) {
+        if (!enabled || texto == null || texto.isBlank()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        memoryCache.put(contentHash, new CachedText(texto, now));
+
+        ocrCacheRepository.upsert(contentHash, texto, now);
+    }
+
+    /**
+     * Job agendado para remover entradas expiradas (executa diariamente às 3h30)
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    @Transactional
+    public void cleanupExpiredEntries() {
+        log.info("Iniciando limpeza do cache de OCR...");
+        long removed = ocrCacheRepository.deleteExpired(minCreatedAt());
+        log.info("Limpeza do cache de OCR concluída: {} entradas removidas", removed);
+    }
+
+    public OcrCacheStatsResponse getStats() {
+        long hits = memoryHits.get() + databaseHits.get();
+        long total = hits + misses.get();
+
+        return OcrCacheStatsResponse.builder()
+                .memoryHits(memoryHits.get())
+                .databaseHits(databaseHits.get())
+                .misses(misses.get())
+                .memoryEntries(memoryCache.size())
+                .maxEntries(maxEntries)
+                .hitRatio(total > 0 ? (double) hits / total : 0.0)
+                .build();
+    }
+
+    private LocalDateTime minCreatedAt() {
+        return LocalDateTime.now().minus(ttl);
+    }
+}
@@ -0,0 +1,17 @@
+package com.yagodaoud.venceja.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Motor de OCR plugável. A implementação ativa é escolhida pela propriedade ocr.engine
+ * (vision ou fake).
+ */
+public interface OcrEngine {
+
+    /**
+     * Extrai o texto do documento. O conteúdo não deve ser alterado nem retido após o retorno.
+     * Falhas do motor são reportadas como OcrException.
+     */
+    String detectText(ByteBuffer content) throws IOException;
+}
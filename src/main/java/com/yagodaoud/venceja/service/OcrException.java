@@ -0,0 +1,33 @@
+package com.yagodaoud.venceja.service;
+
+import java.io.IOException;
+
+/**
+ * Falha do motor de OCR (erro da API, timeout ou circuito aberto).
+ * Reportada aos clientes como OCR_FAIL.
+ */
+public class OcrException extends IOException {
+
+    public OcrException(String message) {
+        super(message);
+    }
+
+    public OcrException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Indica se a falha (ou alguma de suas causas) veio do OCR
+     */
+    public static boolean isCause(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof OcrException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+}
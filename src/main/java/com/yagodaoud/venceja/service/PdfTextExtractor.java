@@ -0,0 +1,99 @@
+package com.yagodaoud.venceja.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Extrai a camada de texto de PDFs gerados digitalmente (boletos emitidos pelo banco),
+ * página a página, dispensando o OCR quando há texto suficiente.
+ */
+@Slf4j
+@ApplicationScoped
+public class PdfTextExtractor {
+
+    @ConfigProperty(name = "pdf.text.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "pdf.text.max-pages", defaultValue = "5")
+    int maxPages;
+
+    @ConfigProperty(name = "pdf.text.min-chars", defaultValue = "50")
+    int minChars;
+
+    public static boolean isPdf(ByteBuffer content) {
+        int p = content.position();
+        return content.remaining() >= 4
+                && content.get(p) == '%' && content.get(p + 1) == 'P'
+                && content.get(p + 2) == 'D' && content.get(p + 3) == 'F';
+    }
+
+    /**
+     * Retorna o texto embutido do PDF, ou vazio se não for PDF ou não houver texto utilizável
+     */
+    public Optional<String> extractText(ByteBuffer content) {
+        if (!enabled || content == null || !isPdf(content)) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(content.slice()))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            StringWriter text = new StringWriter();
+
+            for (int page = 1; page <= pages; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                stripper.writeText(document, text);
+
+                // Boletos costumam estar na primeira página; demais páginas só são lidas se faltar algo
+                if (isComplete(text.toString())) {
+                    pages = page;
+                    break;
+                }
+            }
+
+            String result = text.toString();
+            if (countVisibleChars(result) < minChars) {
+                log.info("PDF sem camada de texto utilizável ({} páginas lidas), OCR necessário", pages);
+                return Optional.empty();
+            }
+
+            log.info("Texto extraído do PDF: {} caracteres em {} páginas, {} ms (OCR dispensado)",
+                    result.length(), pages, (System.nanoTime() - start) / 1_000_000);
+            return Optional.of(result);
+
+        } catch (Exception e) {
+            log.warn("Erro ao extrair texto do PDF, usando OCR: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isComplete(String text) {
+        BoletoTextScanner.Result result = BoletoTextScanner.scan(text);
+        return result.getValor() != null
+                && result.getVencimento() != null
+                && result.getCodigoBarras() != null;
+    }
+
+    private static int countVisibleChars(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
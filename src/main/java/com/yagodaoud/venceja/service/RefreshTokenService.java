@@ -2,6 +2,8 @@ package com.yagodaoud.venceja.service;
 
 import com.yagodaoud.venceja.entity.RefreshTokenEntity;
 import com.yagodaoud.venceja.entity.UserEntity;
+import com.yagodaoud.venceja.repository.ReadReplicaRouter;
+import com.yagodaoud.venceja.repository.RefreshTokenReactiveRepository;
 import com.yagodaoud.venceja.repository.RefreshTokenRepository;
 import com.yagodaoud.venceja.repository.UserRepository;
 import io.quarkus.scheduler.Scheduled;
@@ -28,6 +30,15 @@ public class RefreshTokenService {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    UserIdResolver userIdResolver;
+
+    @Inject
+    RefreshTokenReactiveRepository refreshTokenReactiveRepository;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
+
     @ConfigProperty(name = "jwt.refresh-token.expiration", defaultValue = "2592000000")
     Long refreshTokenDurationMs;
 
@@ -39,8 +50,7 @@ public class RefreshTokenService {
      */
     @Transactional
     public RefreshTokenEntity createRefreshToken(String userEmail, String deviceInfo) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         // Remove tokens expirados do usuário
         cleanupExpiredTokens(user.getId());
@@ -72,6 +82,7 @@ public class RefreshTokenService {
                 .build();
 
         refreshTokenRepository.persist(refreshToken);
+        readReplicaRouter.registerWrite(user.getId());
         log.info("Refresh token criado para usuário: {}", userEmail);
 
         return refreshToken;
@@ -108,6 +119,7 @@ public class RefreshTokenService {
 
         refreshToken.setRevoked(true);
         // Entity is managed
+        readReplicaRouter.registerWrite(refreshToken.getUser().getId());
         log.info("Refresh token revogado");
     }
 
@@ -116,10 +128,10 @@ public class RefreshTokenService {
      */
     @Transactional
     public void revokeAllUserTokens(String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        UserEntity user = userIdResolver.reference(userEmail);
 
         refreshTokenRepository.revokeAllUserTokens(user.getId());
+        readReplicaRouter.registerWrite(user.getId());
         log.info("Todos os tokens revogados para usuário: {}", userEmail);
     }
 
@@ -128,10 +140,7 @@ public class RefreshTokenService {
      */
     @Transactional
     public void cleanupExpiredTokens(Long userId) {
-        List<RefreshTokenEntity> tokens = refreshTokenRepository.findByUser(
-                userRepository.findByIdOptional(userId)
-                        .orElseThrow(() -> new RuntimeException("Usuário não encontrado"))
-        );
+        List<RefreshTokenEntity> tokens = refreshTokenRepository.findByUser(userRepository.reference(userId));
 
         tokens.stream()
                 .filter(RefreshTokenEntity::isExpired)
@@ -150,13 +159,15 @@ public class RefreshTokenService {
     }
 
     /**
-     * Lista tokens ativos do usuário
+     * Lista tokens ativos do usuário; na réplica, se configurada e sem escrita recente do usuário
      */
     @Transactional
     public List<RefreshTokenEntity> getActiveTokens(String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        Long userId = userIdResolver.resolve(userEmail);
 
-        return refreshTokenRepository.findActiveTokensByUserId(user.getId(), LocalDateTime.now());
+        if (readReplicaRouter.readsFromReplica(userId)) {
+            return readReplicaRouter.await(refreshTokenReactiveRepository.findActiveByUserId(userId, LocalDateTime.now()));
+        }
+        return refreshTokenRepository.findActiveTokensByUserId(userId, LocalDateTime.now());
     }
 }
\ No newline at end of file
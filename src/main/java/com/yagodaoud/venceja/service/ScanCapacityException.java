@@ -0,0 +1,11 @@
+package com.yagodaoud.venceja.service;
+
+/**
+ * Fila de processamento de scans cheia; o cliente deve tentar novamente mais tarde (503)
+ */
+public class ScanCapacityException extends RuntimeException {
+
+    public ScanCapacityException(String message) {
+        super(message);
+    }
+}
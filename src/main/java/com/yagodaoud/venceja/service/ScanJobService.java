@@ -0,0 +1,456 @@
+package com.yagodaoud.venceja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yagodaoud.venceja.dto.BoletoRequest;
+import com.yagodaoud.venceja.dto.BoletoResponse;
+import com.yagodaoud.venceja.dto.ErrorResponse;
+import com.yagodaoud.venceja.dto.ScanJobResponse;
+import com.yagodaoud.venceja.entity.ScanJobEntity;
+import com.yagodaoud.venceja.entity.ScanJobStatus;
+import com.yagodaoud.venceja.entity.UserEntity;
+import com.yagodaoud.venceja.repository.ScanJobRepository;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Jobs de scan assíncrono: o upload é aceito imediatamente e processado por um pool
+ * limitado de workers. A tabela scan_jobs é a fonte da verdade; a fila em memória é
+ * apenas um atalho, e jobs pendentes são recuperados periodicamente. O arquivo fica em
+ * scan_job_files, então qualquer instância pode assumir qualquer job.
+ */
+@Slf4j
+@ApplicationScoped
+public class ScanJobService {
+
+    @Inject
+    ScanJobRepository scanJobRepository;
+
+    @Inject
+    UserIdResolver userIdResolver;
+
+    @Inject
+    BoletoService boletoService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    ScanJobService self;
+
+    @ConfigProperty(name = "scan.jobs.workers", defaultValue = "2")
+    int workers;
+
+    @ConfigProperty(name = "com.yagodaoud.venceja.service.VisionService/recognize/Bulkhead/value", defaultValue = "10")
+    int ocrBulkhead;
+
+    @ConfigProperty(name = "scan.jobs.queue-capacity", defaultValue = "100")
+    int queueCapacity;
+
+    @ConfigProperty(name = "scan.jobs.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "scan.jobs.stale-after", defaultValue = "600000")
+    Long staleAfterMs;
+
+    @ConfigProperty(name = "scan.jobs.retention", defaultValue = "604800000")
+    Long retentionMs;
+
+    @ConfigProperty(name = "scan.jobs.sse-timeout", defaultValue = "120000")
+    Long sseTimeoutMs;
+
+    // Mesmo limite por arquivo do scan em lote
+    @ConfigProperty(name = "scan.bulk.max-file-size", defaultValue = "20971520")
+    long maxFileSize;
+
+    private ThreadPoolExecutor executor;
+
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, CompletableFuture<ScanJobResponse>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Dados do job assumido por um worker, lidos dentro da transação
+     */
+    record ClaimedJob(String id, String fileName, String requestData, String userEmail) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (workers > ocrBulkhead) {
+            log.warn("scan.jobs.workers ({}) acima do bulkhead do OCR ({}), usando {}", workers, ocrBulkhead, ocrBulkhead);
+            workers = ocrBulkhead;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "scan-job-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executor.shutdown();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        pollPendingJobs();
+    }
+
+    /**
+     * Registra o job gravando o arquivo do multipart no banco, na mesma transação.
+     * Arquivos acima de scan.bulk.max-file-size são recusados.
+     */
+    public ScanJobResponse submit(Path upload, String fileName, String requestData, String userEmail) throws IOException {
+        if (Files.size(upload) > maxFileSize) {
+            throw new IllegalArgumentException("Arquivo excede o tamanho máximo de " + maxFileSize + " bytes");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        ScanJobResponse response = self.createJob(jobId, upload, fileName, requestData, userEmail);
+
+        enqueue(jobId);
+        log.info("Job de scan {} criado para {}", jobId, fileName);
+        return response;
+    }
+
+    @Transactional
+    public ScanJobResponse createJob(String jobId, Path upload, String fileName, String requestData, String userEmail) {
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        ScanJobEntity job = ScanJobEntity.builder()
+                .id(jobId)
+                .user(user)
+                .fileName(fileName)
+                .requestData(requestData)
+                .build();
+
+        scanJobRepository.persistAndFlush(job);
+        scanJobRepository.saveFile(jobId, upload);
+        return toResponse(job, null);
+    }
+
+    /**
+     * Consulta o job; o boleto é incluído quando o processamento foi concluído
+     */
+    @Transactional
+    public ScanJobResponse getJob(String jobId, String userEmail) {
+        UserEntity user = userIdResolver.reference(userEmail);
+
+        ScanJobEntity job = scanJobRepository.findByIdAndUserId(jobId, user.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Job de scan não encontrado"));
+
+        BoletoResponse boleto = null;
+        if (job.getStatus() == ScanJobStatus.CONCLUIDO && job.getBoletoId() != null) {
+            boleto = boletoService.findBoleto(job.getBoletoId(), user.getId()).orElse(null);
+        }
+
+        return toResponse(job, boleto);
+    }
+
+    /**
+     * Stream SSE: emite o estado atual e, se ainda não finalizado, o resultado final
+     * (ou o estado vigente ao fim do tempo limite)
+     */
+    public Multi<ScanJobResponse> stream(String jobId, String userEmail) {
+        // Registra antes de ler o estado para não perder uma conclusão concorrente
+        CompletableFuture<ScanJobResponse> completion = listeners.computeIfAbsent(jobId, id -> new CompletableFuture<>());
+
+        ScanJobResponse current;
+        try {
+            current = self.getJob(jobId, userEmail);
+        } catch (RuntimeException e) {
+            listeners.remove(jobId, completion);
+            throw e;
+        }
+
+        if (isFinished(current.getStatus())) {
+            listeners.remove(jobId, completion);
+            return Multi.createFrom().item(current);
+        }
+
+        Uni<ScanJobResponse> result = Uni.createFrom().completionStage(completion)
+                .ifNoItem().after(Duration.ofMillis(sseTimeoutMs))
+                .recoverWithItem(() -> {
+                    listeners.remove(jobId, completion);
+                    return self.getJob(jobId, userEmail);
+                });
+
+        return Multi.createBy().concatenating().streams(
+                Multi.createFrom().item(current),
+                result.toMulti());
+    }
+
+    /**
+     * Recupera jobs órfãos (instância reiniciada ou worker travado) e enfileira pendentes
+     */
+    @Scheduled(every = "30s", delayed = "30s")
+    public void pollPendingJobs() {
+        try {
+            self.recoverStaleJobs();
+
+            int capacity = executor.getQueue().remainingCapacity();
+            if (capacity <= 0) {
+                return;
+            }
+
+            for (String jobId : self.findPendingIds(capacity)) {
+                enqueue(jobId);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao verificar jobs de scan pendentes: {}", e.getMessage(), e);
+        }
+    }
+
+    @Transactional
+    public List<String> findPendingIds(int limit) {
+        return scanJobRepository.findPendingIds(limit);
+    }
+
+    @Transactional
+    public void recoverStaleJobs() {
+        LocalDateTime startedBefore = LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs));
+
+        for (ScanJobEntity job : scanJobRepository.findStale(startedBefore)) {
+            if (job.getAttempts() >= maxAttempts) {
+                markFailed(job, "INTERNAL_ERROR", "Tempo de processamento excedido");
+                scanJobRepository.deleteFile(job.getId());
+            } else {
+                log.warn("Job de scan {} sem conclusão desde {}, retornando para a fila", job.getId(), job.getStartedAt());
+                job.setStatus(ScanJobStatus.PENDENTE);
+            }
+        }
+    }
+
+    /**
+     * Job agendado para remover jobs finalizados antigos (executa diariamente às 4h)
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    @Transactional
+    public void cleanupFinishedJobs() {
+        log.info("Iniciando limpeza de jobs de scan...");
+        LocalDateTime completedBefore = LocalDateTime.now().minus(Duration.ofMillis(retentionMs));
+
+        List<ScanJobEntity> jobs = scanJobRepository.findFinishedBefore(completedBefore);
+        for (ScanJobEntity job : jobs) {
+            scanJobRepository.delete(job);
+        }
+        log.info("Limpeza de jobs de scan concluída: {} jobs removidos", jobs.size());
+    }
+
+    // ==================== Processamento ====================
+
+    private void enqueue(String jobId) {
+        if (!queued.add(jobId)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> process(jobId));
+        } catch (RejectedExecutionException e) {
+            // Fila cheia: o job continua pendente no banco e será retomado pela verificação periódica
+            queued.remove(jobId);
+            log.debug("Fila de scan cheia, job {} aguardará a próxima verificação", jobId);
+        }
+    }
+
+    private void process(String jobId) {
+        queued.remove(jobId);
+
+        Optional<ClaimedJob> claimed = self.claim(jobId);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        ClaimedJob job = claimed.get();
+        ScanJobResponse response;
+        Path file = null;
+        try {
+            // Cópia local do arquivo apenas durante o processamento
+            file = Files.createTempFile("scan-job-", null);
+            self.loadFile(jobId, file);
+
+            BoletoRequest request = parseRequest(job.requestData());
+            BoletoResponse boleto = boletoService.processScan(file, job.fileName(), request, job.userEmail());
+            response = self.complete(jobId, boleto);
+            log.info("Job de scan {} concluído: boleto {}", jobId, boleto.getId());
+
+        } catch (ScanCapacityException e) {
+            // OCR sem capacidade: o job volta para a fila e é retomado pela verificação periódica
+            log.warn("Job de scan {} adiado: {}", jobId, e.getMessage());
+            response = self.release(jobId);
+
+        } catch (Exception e) {
+            log.error("Erro ao processar job de scan {}: {}", jobId, e.getMessage(), e);
+            response = self.fail(jobId, e);
+        }
+
+        if (file != null) {
+            deleteTempFile(file);
+        }
+
+        // Job devolvido à fila (response nulo) mantém o listener até a conclusão
+        if (response != null) {
+            CompletableFuture<ScanJobResponse> listener = listeners.remove(jobId);
+            if (listener != null) {
+                listener.complete(response);
+            }
+        }
+    }
+
+    @Transactional
+    public Optional<ClaimedJob> claim(String jobId) {
+        if (!scanJobRepository.claim(jobId, LocalDateTime.now())) {
+            return Optional.empty();
+        }
+
+        return scanJobRepository.findByIdOptional(jobId).map(job -> new ClaimedJob(
+                job.getId(),
+                job.getFileName(),
+                job.getRequestData(),
+                job.getUser().getEmail()));
+    }
+
+    @Transactional
+    public void loadFile(String jobId, Path target) {
+        if (!scanJobRepository.copyFile(jobId, target)) {
+            throw new IllegalStateException("Arquivo do job de scan não encontrado");
+        }
+    }
+
+    @Transactional
+    public ScanJobResponse complete(String jobId, BoletoResponse boleto) {
+        ScanJobEntity job = scanJobRepository.findById(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        job.setStatus(ScanJobStatus.CONCLUIDO);
+        job.setBoletoId(boleto.getId());
+        job.setCompletedAt(LocalDateTime.now());
+        scanJobRepository.deleteFile(jobId);
+        return toResponse(job, boleto);
+    }
+
+    /**
+     * Devolve o job para pendente; falha com SERVICE_BUSY ao esgotar as tentativas
+     */
+    @Transactional
+    public ScanJobResponse release(String jobId) {
+        ScanJobEntity job = scanJobRepository.findById(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        if (job.getAttempts() >= maxAttempts) {
+            markFailed(job, "SERVICE_BUSY", "Capacidade de OCR esgotada");
+            scanJobRepository.deleteFile(jobId);
+            return toResponse(job, null);
+        }
+
+        job.setStatus(ScanJobStatus.PENDENTE);
+        job.setStartedAt(null);
+        return null;
+    }
+
+    @Transactional
+    public ScanJobResponse fail(String jobId, Exception error) {
+        ScanJobEntity job = scanJobRepository.findById(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        String message = error.getMessage() != null ? error.getMessage() : "Erro desconhecido";
+        if (error instanceof IllegalArgumentException) {
+            markFailed(job, "INVALID_REQUEST", message);
+        } else if (OcrException.isCause(error)) {
+            markFailed(job, "OCR_FAIL", message);
+        } else {
+            markFailed(job, "INTERNAL_ERROR", message);
+        }
+        scanJobRepository.deleteFile(jobId);
+        return toResponse(job, null);
+    }
+
+    private void markFailed(ScanJobEntity job, String code, String message) {
+        job.setStatus(ScanJobStatus.FALHA);
+        job.setErrorCode(code);
+        job.setErrorMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+        job.setCompletedAt(LocalDateTime.now());
+    }
+
+    private BoletoRequest parseRequest(String requestData) {
+        if (requestData != null && !requestData.isEmpty()) {
+            try {
+                return objectMapper.readValue(requestData, BoletoRequest.class);
+            } catch (Exception e) {
+                log.warn("Erro ao parsear JSON de edição: {}", e.getMessage());
+            }
+        }
+        return new BoletoRequest();
+    }
+
+    private void deleteTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Erro ao remover arquivo temporário {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static boolean isFinished(ScanJobStatus status) {
+        return status == ScanJobStatus.CONCLUIDO || status == ScanJobStatus.FALHA;
+    }
+
+    private ScanJobResponse toResponse(ScanJobEntity job, BoletoResponse boleto) {
+        ErrorResponse.ErrorDetail erro = null;
+        if (job.getStatus() == ScanJobStatus.FALHA) {
+            erro = ErrorResponse.ErrorDetail.builder()
+                    .code(job.getErrorCode())
+                    .message(job.getErrorMessage())
+                    .details(List.of())
+                    .build();
+        }
+
+        return ScanJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .boleto(boleto)
+                .erro(erro)
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
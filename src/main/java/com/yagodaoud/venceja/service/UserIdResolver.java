@@ -0,0 +1,125 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.entity.UserEntity;
+import com.yagodaoud.venceja.repository.UserReactiveRepository;
+import com.yagodaoud.venceja.repository.UserRepository;
+import io.quarkus.arc.Arc;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Converte o email do principal no id do usuário sem consultar o banco a cada requisição.
+ * Primeiro a claim do token da requisição atual; depois um cache LRU com expiração
+ * (tokens antigos e chamadas fora de requisição, como os workers de scan).
+ */
+@Slf4j
+@ApplicationScoped
+public class UserIdResolver {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    UserReactiveRepository userReactiveRepository;
+
+    @Inject
+    Instance<CurrentUser> currentUser;
+
+    @ConfigProperty(name = "user.id-cache.max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    @ConfigProperty(name = "user.id-cache.ttl", defaultValue = "600000")
+    long ttlMs;
+
+    private Map<String, CachedId> cache;
+
+    private record CachedId(Long id, long expiresAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedId> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Id do usuário com o email informado
+     */
+    @Transactional
+    public Long resolve(String email) {
+        Optional<Long> known = known(email);
+        if (known.isPresent()) {
+            return known.get();
+        }
+
+        Long id = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        cache.put(email, new CachedId(id, System.currentTimeMillis() + ttlMs));
+        return id;
+    }
+
+    /**
+     * Versão não bloqueante de resolve, para as leituras pelo cliente reativo
+     */
+    public Uni<Long> resolveReactive(String email) {
+        Optional<Long> known = known(email);
+        if (known.isPresent()) {
+            return Uni.createFrom().item(known.get());
+        }
+
+        return userReactiveRepository.findIdByEmail(email)
+                .map(found -> {
+                    Long id = found.orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+                    cache.put(email, new CachedId(id, System.currentTimeMillis() + ttlMs));
+                    return id;
+                });
+    }
+
+    /**
+     * Referência (proxy não inicializado) ao usuário, para associações e comparações de id.
+     * Deve ser chamada dentro de uma transação.
+     */
+    public UserEntity reference(String email) {
+        return userRepository.reference(resolve(email));
+    }
+
+    /**
+     * Remove o email do cache (ex.: usuário removido)
+     */
+    public void evict(String email) {
+        cache.remove(email);
+    }
+
+    /**
+     * Id pela claim do token ou pelo cache, sem acesso ao banco
+     */
+    private Optional<Long> known(String email) {
+        if (Arc.container().requestContext().isActive()) {
+            Optional<Long> fromToken = currentUser.get().tokenUserId(email);
+            if (fromToken.isPresent()) {
+                return fromToken;
+            }
+        }
+
+        CachedId cached = cache.get(email);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(cached.id());
+        }
+        return Optional.empty();
+    }
+}
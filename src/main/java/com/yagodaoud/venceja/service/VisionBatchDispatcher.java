@@ -0,0 +1,191 @@
+package com.yagodaoud.venceja.service;
+
+import com.google.cloud.vision.v1.AnnotateImageRequest;
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Agrupa requisições concorrentes de OCR em uma única chamada batchAnnotateImages.
+ * Cada requisição aguarda no máximo a janela configurada; o lote é enviado antes
+ * se atingir o número máximo de imagens ou de bytes. Cada chamador recebe a resposta da
+ * sua posição no lote. Erros de uma imagem vêm na resposta dela; a falha da chamada inteira
+ * (cota, rede) é repetida uma vez, com o lote completo, e depois falha todas as imagens,
+ * sem multiplicar as chamadas à API. Os envios usam no máximo maxConcurrentBatches threads.
+ */
+@Slf4j
+public class VisionBatchDispatcher implements AutoCloseable {
+
+    /**
+     * Limite de imagens por chamada síncrona da Vision API
+     */
+    public static final int VISION_MAX_BATCH_SIZE = 16;
+
+    private static final long RETRY_DELAY_MS = 500;
+
+    private final Function<List<AnnotateImageRequest>, BatchAnnotateImagesResponse> sender;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor senders;
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private long pendingBytes;
+    private ScheduledFuture<?> flushTask;
+
+    private record Pending(AnnotateImageRequest request, CompletableFuture<AnnotateImageResponse> future) {
+    }
+
+    public VisionBatchDispatcher(
+            Function<List<AnnotateImageRequest>, BatchAnnotateImagesResponse> sender,
+            long windowMs,
+            int maxBatchSize,
+            long maxBatchBytes,
+            int maxConcurrentBatches) {
+        this.sender = sender;
+        this.windowMs = Math.max(0, windowMs);
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, VISION_MAX_BATCH_SIZE));
+        this.maxBatchBytes = Math.max(1, maxBatchBytes);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("vision-batch-timer"));
+        // Cada imagem pendente tem um chamador no bulkhead do OCR: com maxConcurrentBatches igual
+        // ao bulkhead, a fila nunca guarda mais lotes do que ele permite
+        int senderThreads = Math.max(1, maxConcurrentBatches);
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderThreads), threadFactory("vision-batch-sender"));
+    }
+
+    /**
+     * Enfileira uma imagem para o próximo lote. Uma imagem maior que o limite de bytes
+     * segue sozinha.
+     */
+    public CompletableFuture<AnnotateImageResponse> submit(AnnotateImageRequest request) {
+        Pending item = new Pending(request, new CompletableFuture<>());
+        long size = request.getImage().getContent().size();
+        List<Pending> previous = null;
+        List<Pending> ready = null;
+
+        synchronized (lock) {
+            // O lote em formação é enviado antes se a imagem não couber nele
+            if (!pending.isEmpty() && pendingBytes + size > maxBatchBytes) {
+                previous = drain();
+            }
+
+            pending.add(item);
+            pendingBytes += size;
+            if (pending.size() >= maxBatchSize || pendingBytes >= maxBatchBytes || windowMs == 0) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                flushTask = scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (previous != null) {
+            dispatch(previous, 0);
+        }
+        if (ready != null) {
+            dispatch(ready, 0);
+        }
+        return item.future();
+    }
+
+    private List<Pending> drain() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        pendingBytes = 0;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        return batch;
+    }
+
+    private void flush() {
+        List<Pending> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch, 0);
+    }
+
+    private void dispatch(List<Pending> batch, int attempt) {
+        try {
+            senders.execute(() -> send(batch, attempt));
+        } catch (RejectedExecutionException e) {
+            fail(batch, new IllegalStateException("Fila de envio do Vision cheia", e));
+        }
+    }
+
+    private void send(List<Pending> batch, int attempt) {
+        try {
+            List<AnnotateImageRequest> requests = new ArrayList<>(batch.size());
+            for (Pending item : batch) {
+                requests.add(item.request());
+            }
+
+            log.debug("Enviando lote de {} imagens para o Vision", requests.size());
+            List<AnnotateImageResponse> responses = sender.apply(requests).getResponsesList();
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (i < responses.size()) {
+                    batch.get(i).future().complete(responses.get(i));
+                } else {
+                    batch.get(i).future().completeExceptionally(
+                            new IllegalStateException("Resposta do Vision ausente para a posição " + i + " do lote"));
+                }
+            }
+        } catch (Exception e) {
+            if (attempt == 0 && !scheduler.isShutdown()) {
+                log.warn("Lote de {} imagens falhou no Vision ({}), nova tentativa em {} ms",
+                        batch.size(), e.getMessage(), RETRY_DELAY_MS);
+                try {
+                    scheduler.schedule(() -> dispatch(batch, attempt + 1), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException rejected) {
+                    // Dispatcher encerrado durante a falha
+                }
+            }
+            fail(batch, e);
+        }
+    }
+
+    private static void fail(List<Pending> batch, Exception error) {
+        for (Pending item : batch) {
+            item.future().completeExceptionally(error);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        scheduler.shutdown();
+        senders.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.yagodaoud.venceja.service;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.vision.v1.*;
+import com.google.protobuf.UnsafeByteOperations;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * OCR usando Google Cloud Vision API, com agrupamento de requisições concorrentes
+ */
+@Slf4j
+@ApplicationScoped
+@LookupIfProperty(name = "ocr.engine", stringValue = "vision", lookupIfMissing = true)
+public class VisionOcrEngine implements OcrEngine {
+
+    @Inject
+    @Named("google")
+    GoogleCredentials googleCredentials;
+
+    @ConfigProperty(name = "vision.batch.window-ms", defaultValue = "50")
+    long batchWindowMs;
+
+    @ConfigProperty(name = "vision.batch.max-size", defaultValue = "16")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "vision.batch.max-bytes", defaultValue = "8388608")
+    long batchMaxBytes;
+
+    // Envios simultâneos limitados às chamadas de OCR permitidas pelo bulkhead
+    @ConfigProperty(name = "com.yagodaoud.venceja.service.VisionService/recognize/Bulkhead/value", defaultValue = "10")
+    int ocrBulkhead;
+
+    private ImageAnnotatorClient visionClient;
+
+    private VisionBatchDispatcher batchDispatcher;
+
+    @PostConstruct
+    public void init() {
+        try {
+            log.info("Inicializando Google Vision Client...");
+
+            if (googleCredentials == null) {
+                log.warn("Google Credentials não disponíveis");
+                return;
+            }
+
+            ImageAnnotatorSettings settings = ImageAnnotatorSettings.newBuilder()
+                    .setCredentialsProvider(() -> googleCredentials)
+                    .build();
+
+            visionClient = ImageAnnotatorClient.create(settings);
+            batchDispatcher = new VisionBatchDispatcher(
+                    visionClient::batchAnnotateImages, batchWindowMs, batchMaxSize, batchMaxBytes, ocrBulkhead);
+
+            log.info("Google Vision Client inicializado com sucesso!");
+
+        } catch (Exception e) {
+            log.error("Erro ao inicializar Vision Client: {}", e.getMessage(), e);
+            log.warn("OCR não estará disponível");
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (batchDispatcher != null) {
+            batchDispatcher.close();
+        }
+        if (visionClient != null) {
+            try {
+                visionClient.close();
+                log.info("Vision Client fechado");
+            } catch (Exception e) {
+                log.error("Erro ao fechar Vision Client", e);
+            }
+        }
+    }
+
+    /**
+     * Envia o documento ao Google Vision sem copiar o buffer. O conteúdo precisa
+     * permanecer válido até a resposta, já que a serialização do lote acontece em outra thread.
+     */
+    @Override
+    public String detectText(ByteBuffer content) throws IOException {
+        if (visionClient == null) {
+            throw new OcrException("OCR indisponível: Vision Client não inicializado. Verifique as credenciais do Google Cloud.");
+        }
+
+        try {
+            Image img = Image.newBuilder().setContent(UnsafeByteOperations.unsafeWrap(content.duplicate())).build();
+            Feature feat = Feature.newBuilder().setType(Feature.Type.DOCUMENT_TEXT_DETECTION).build();
+            AnnotateImageRequest request = AnnotateImageRequest.newBuilder()
+                    .addFeatures(feat)
+                    .setImage(img)
+                    .build();
+
+            AnnotateImageResponse imageResponse = batchDispatcher.submit(request).get();
+
+            if (!imageResponse.hasFullTextAnnotation()) {
+                log.warn("OCR não conseguiu extrair texto do documento");
+                return "";
+            }
+
+            String text = imageResponse.getFullTextAnnotation().getText();
+            log.info("OCR extraiu {} caracteres do documento", text.length());
+            return text;
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Erro ao executar OCR: {}", cause.getMessage(), cause);
+            throw new OcrException("Falha ao processar OCR: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcrException("Falha ao processar OCR: requisição interrompida", e);
+        } catch (Exception e) {
+            log.error("Erro ao executar OCR: {}", e.getMessage(), e);
+            throw new OcrException("Falha ao processar OCR: " + e.getMessage(), e);
+        }
+    }
+}
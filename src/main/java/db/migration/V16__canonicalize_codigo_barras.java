@@ -0,0 +1,265 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converte para a forma canônica (BoletoBarcodeDecoder.normalize) os códigos que a V7
+ * preencheu só sem separadores: linhas digitáveis válidas de 47/48 dígitos passam a ser
+ * o código de barras de 44 dígitos, como nos boletos gravados pela aplicação. Se o código
+ * canônico já existir para o usuário, o boleto mais antigo fica com ele e o outro com
+ * NULL, como na V7. A conversão é uma cópia da do decoder na data desta migração, para
+ * que mudanças futuras nele não alterem o que a migração faz.
+ */
+public class V16__canonicalize_codigo_barras extends BaseJavaMigration {
+
+    private static final String LEGADOS = """
+        SELECT id, user_id, codigo_barras FROM %s
+        WHERE LENGTH(codigo_barras_normalizado) IN (47, 48)
+        ORDER BY id
+        """;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        canonicalizeBoletos(connection);
+        canonicalizeArchive(connection);
+    }
+
+    private static void canonicalizeBoletos(Connection connection) throws SQLException {
+        Map<Long, String> novos = new HashMap<>();
+        Map<Long, Long> userIds = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(LEGADOS.formatted("boletos"));
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                String canonico = codigoBarras(rs.getString(3));
+                if (canonico != null) {
+                    novos.put(rs.getLong(1), canonico);
+                    userIds.put(rs.getLong(1), rs.getLong(2));
+                }
+            }
+        }
+
+        if (novos.isEmpty()) {
+            return;
+        }
+
+        // Linhas que vão perder o código: primeiro liberadas, depois as demais recebem o canônico
+        Set<Long> descartados = new HashSet<>();
+        Map<String, Long> donos = new HashMap<>();
+        try (PreparedStatement existente = connection.prepareStatement(
+                "SELECT id FROM boletos WHERE user_id = ? AND codigo_barras_normalizado = ?")) {
+            for (Long id : novos.keySet().stream().sorted().toList()) {
+                String chave = userIds.get(id) + ":" + novos.get(id);
+                Long dono = donos.get(chave);
+                if (dono == null) {
+                    existente.setLong(1, userIds.get(id));
+                    existente.setString(2, novos.get(id));
+                    try (ResultSet rs = existente.executeQuery()) {
+                        dono = rs.next() ? rs.getLong(1) : null;
+                    }
+                }
+
+                if (dono == null) {
+                    donos.put(chave, id);
+                } else if (dono < id) {
+                    descartados.add(id);
+                } else {
+                    descartados.add(dono);
+                    donos.put(chave, id);
+                }
+            }
+        }
+
+        try (PreparedStatement limpa = connection.prepareStatement(
+                "UPDATE boletos SET codigo_barras_normalizado = NULL WHERE id = ?")) {
+            for (Long id : descartados) {
+                limpa.setLong(1, id);
+                limpa.addBatch();
+            }
+            limpa.executeBatch();
+        }
+
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE boletos SET codigo_barras_normalizado = ? WHERE id = ?")) {
+            for (Map.Entry<Long, String> entry : novos.entrySet()) {
+                if (!descartados.contains(entry.getKey())) {
+                    update.setString(1, entry.getValue());
+                    update.setLong(2, entry.getKey());
+                    update.addBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    /**
+     * O arquivo não tem índice único: basta converter
+     */
+    private static void canonicalizeArchive(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(LEGADOS.formatted("boletos_archive"));
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE boletos_archive SET codigo_barras_normalizado = ? WHERE id = ?");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                String canonico = codigoBarras(rs.getString(3));
+                if (canonico != null) {
+                    update.setString(1, canonico);
+                    update.setLong(2, rs.getLong(1));
+                    update.addBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    // ==================== Conversão (cópia congelada do BoletoBarcodeDecoder) ====================
+
+    /**
+     * Código de barras de 44 dígitos da linha digitável; null se não for uma linha
+     * bancária (47) ou de arrecadação (48) com todos os dígitos verificadores válidos
+     */
+    private static String codigoBarras(String codigo) {
+        if (codigo == null) {
+            return null;
+        }
+
+        char[] digits = new char[48];
+        int count = 0;
+        for (int i = 0; i < codigo.length(); i++) {
+            char c = codigo.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (count == digits.length) {
+                    return null;
+                }
+                digits[count++] = c;
+            }
+        }
+
+        char[] barcode;
+        if (count == 47) {
+            barcode = linhaBancaria(digits);
+            if (barcode == null || digit(barcode, 4) != mod11Bancario(barcode)) {
+                return null;
+            }
+        } else if (count == 48 && digits[0] == '8') {
+            barcode = linhaArrecadacao(digits);
+            if (barcode == null || !arrecadacaoValida(barcode)) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return new String(barcode);
+    }
+
+    private static char[] linhaBancaria(char[] linha) {
+        if (digit(linha, 9) != mod10(linha, 0, 9)
+                || digit(linha, 20) != mod10(linha, 10, 20)
+                || digit(linha, 31) != mod10(linha, 21, 31)) {
+            return null;
+        }
+
+        char[] barcode = new char[44];
+        System.arraycopy(linha, 0, barcode, 0, 4);    // banco + moeda
+        barcode[4] = linha[32];                        // DV geral
+        System.arraycopy(linha, 33, barcode, 5, 14);  // fator + valor
+        System.arraycopy(linha, 4, barcode, 19, 5);   // campo livre 1
+        System.arraycopy(linha, 10, barcode, 24, 10); // campo livre 2
+        System.arraycopy(linha, 21, barcode, 34, 10); // campo livre 3
+        return barcode;
+    }
+
+    private static char[] linhaArrecadacao(char[] linha) {
+        int identificador = digit(linha, 2);
+        boolean modulo10 = identificador == 6 || identificador == 7;
+
+        char[] barcode = new char[44];
+        for (int bloco = 0; bloco < 4; bloco++) {
+            int start = bloco * 12;
+            int expected = modulo10
+                    ? mod10(linha, start, start + 11)
+                    : mod11ArrecadacaoDv(mod11Sum(linha, start, start + 11, -1));
+            if (digit(linha, start + 11) != expected) {
+                return null;
+            }
+            System.arraycopy(linha, start, barcode, bloco * 11, 11);
+        }
+        return barcode;
+    }
+
+    private static boolean arrecadacaoValida(char[] barcode) {
+        int identificador = digit(barcode, 2);
+        boolean modulo10 = identificador == 6 || identificador == 7;
+        if (!modulo10 && identificador != 8 && identificador != 9) {
+            return false;
+        }
+
+        int expected;
+        if (modulo10) {
+            int sum = 0;
+            int weight = 2;
+            for (int i = 43; i >= 0; i--) {
+                if (i == 3) continue;
+                int product = digit(barcode, i) * weight;
+                sum += product > 9 ? product - 9 : product;
+                weight = weight == 2 ? 1 : 2;
+            }
+            expected = (10 - sum % 10) % 10;
+        } else {
+            expected = mod11ArrecadacaoDv(mod11Sum(barcode, 0, 44, 3));
+        }
+        return digit(barcode, 3) == expected;
+    }
+
+    private static int mod10(char[] digits, int start, int end) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = end - 1; i >= start; i--) {
+            int product = digit(digits, i) * weight;
+            sum += product > 9 ? product - 9 : product;
+            weight = weight == 2 ? 1 : 2;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static int mod11Bancario(char[] barcode) {
+        int dv = 11 - mod11Sum(barcode, 0, 44, 4) % 11;
+        return dv == 0 || dv == 10 || dv == 11 ? 1 : dv;
+    }
+
+    private static int mod11ArrecadacaoDv(int sum) {
+        int resto = sum % 11;
+        if (resto == 0 || resto == 1) {
+            return 0;
+        }
+        if (resto == 10) {
+            return 1;
+        }
+        return 11 - resto;
+    }
+
+    private static int mod11Sum(char[] digits, int start, int end, int skip) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = end - 1; i >= start; i--) {
+            if (i == skip) continue;
+            sum += digit(digits, i) * weight;
+            weight = weight == 9 ? 2 : weight + 1;
+        }
+        return sum;
+    }
+
+    private static int digit(char[] digits, int index) {
+        return digits[index] - '0';
+    }
+}
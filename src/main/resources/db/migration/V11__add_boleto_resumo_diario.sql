@@ -0,0 +1,20 @@
+-- Resumo diário por usuário, vencimento, status e categoria (0 = sem categoria), mantido
+-- na mesma transação das escritas; alimenta GET /boletos/summary sem varrer os boletos
+CREATE TABLE IF NOT EXISTS boleto_resumo_diario (
+    user_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    categoria_id BIGINT NOT NULL DEFAULT 0,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    valor DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, dia, status, categoria_id),
+    CONSTRAINT fk_boleto_resumo_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_boleto_resumo_user_status_dia ON boleto_resumo_diario(user_id, status, dia);
+
+-- Carga inicial a partir dos boletos existentes
+INSERT INTO boleto_resumo_diario (user_id, dia, status, categoria_id, quantidade, valor)
+SELECT user_id, vencimento, status, COALESCE(categoria_id, 0), COUNT(*), SUM(valor)
+FROM boletos
+GROUP BY user_id, vencimento, status, COALESCE(categoria_id, 0);
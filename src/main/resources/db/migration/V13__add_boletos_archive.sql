@@ -0,0 +1,29 @@
+-- Boletos pagos antigos, movidos da tabela boletos pelo job de arquivamento
+-- (BoletoArchiveService). Mesmas colunas de boletos; somente leitura para a aplicação.
+-- As listagens só consultam esta tabela quando o filtro de datas alcança o período arquivado.
+CREATE TABLE IF NOT EXISTS boletos_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    categoria_id BIGINT,
+    fornecedor VARCHAR(255) NOT NULL,
+    valor DECIMAL(10, 2) NOT NULL,
+    vencimento DATE NOT NULL,
+    codigo_barras VARCHAR(255),
+    codigo_barras_normalizado VARCHAR(48),
+    status VARCHAR(20) NOT NULL,
+    comprovante_url TEXT,
+    sem_comprovante BOOLEAN DEFAULT FALSE,
+    observacoes TEXT,
+    busca TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    arquivado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_boletos_archive_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_boletos_archive_categoria FOREIGN KEY (categoria_id) REFERENCES categorias(id) ON DELETE SET NULL
+);
+
+-- Mesmos índices de listagem da tabela quente; (user_id, vencimento, id) também
+-- responde ao MAX(vencimento) que decide se o arquivo entra na consulta
+CREATE INDEX IF NOT EXISTS idx_boletos_archive_user_vencimento_id ON boletos_archive(user_id, vencimento, id);
+CREATE INDEX IF NOT EXISTS idx_boletos_archive_user_id_id ON boletos_archive(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_boletos_archive_categoria_id ON boletos_archive(categoria_id);
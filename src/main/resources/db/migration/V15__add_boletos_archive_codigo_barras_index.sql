@@ -0,0 +1,3 @@
+-- Detecção de duplicados também consulta o arquivo: um boleto arquivado escaneado de novo
+-- não deve ser recriado na tabela quente. Não é único: o arquivo só recebe linhas já únicas.
+CREATE INDEX IF NOT EXISTS idx_boletos_archive_user_codigo_barras ON boletos_archive(user_id, codigo_barras_normalizado);
@@ -0,0 +1,9 @@
+-- Cache de resultados de OCR indexado pelo SHA-256 do arquivo enviado
+CREATE TABLE IF NOT EXISTS ocr_cache (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    texto TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Índice para expiração por TTL
+CREATE INDEX IF NOT EXISTS idx_ocr_cache_created_at ON ocr_cache(created_at);
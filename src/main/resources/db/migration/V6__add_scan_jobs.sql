@@ -0,0 +1,28 @@
+-- Jobs de scan assíncrono (upload aceito com 202 e processado por workers)
+CREATE TABLE IF NOT EXISTS scan_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255),
+    request_data TEXT,
+    boleto_id BIGINT,
+    error_code VARCHAR(50),
+    error_message VARCHAR(1000),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    CONSTRAINT fk_scan_jobs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Índices para a fila de processamento e limpeza
+CREATE INDEX IF NOT EXISTS idx_scan_jobs_status_created_at ON scan_jobs(status, created_at);
+CREATE INDEX IF NOT EXISTS idx_scan_jobs_user_id ON scan_jobs(user_id);
+
+-- Arquivo enviado ao job de scan, no banco para que qualquer instância possa processá-lo:
+-- o worker que assume o job não é necessariamente o que recebeu o upload
+CREATE TABLE IF NOT EXISTS scan_job_files (
+    job_id VARCHAR(36) PRIMARY KEY,
+    content BYTEA NOT NULL,
+    CONSTRAINT fk_scan_job_files_job FOREIGN KEY (job_id) REFERENCES scan_jobs(id) ON DELETE CASCADE
+);
@@ -0,0 +1,26 @@
+-- Código de barras normalizado (44 dígitos ou apenas dígitos) para detectar boletos duplicados
+ALTER TABLE boletos
+ADD COLUMN codigo_barras_normalizado VARCHAR(48);
+
+-- Preenche registros existentes removendo os separadores usuais da linha digitável.
+-- Linhas de 47/48 dígitos antigas ficam como dígitos; a aplicação busca pelas duas formas.
+UPDATE boletos
+SET codigo_barras_normalizado = REPLACE(REPLACE(REPLACE(codigo_barras, ' ', ''), '.', ''), '-', '')
+WHERE codigo_barras IS NOT NULL
+  AND LENGTH(REPLACE(REPLACE(REPLACE(codigo_barras, ' ', ''), '.', ''), '-', '')) BETWEEN 1 AND 48;
+
+-- Duplicados já existentes mantêm apenas o boleto mais antigo indexado
+UPDATE boletos
+SET codigo_barras_normalizado = NULL
+WHERE id IN (
+    SELECT b.id FROM boletos b
+    WHERE EXISTS (
+        SELECT 1 FROM boletos o
+        WHERE o.user_id = b.user_id
+          AND o.codigo_barras_normalizado = b.codigo_barras_normalizado
+          AND o.id < b.id
+    )
+);
+
+-- Um boleto por código de barras para cada usuário (NULLs não conflitam)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_boletos_user_codigo_barras ON boletos(user_id, codigo_barras_normalizado);
@@ -0,0 +1,5 @@
+-- Índices para a paginação por cursor: (user_id, chave de ordenação, id) permite
+-- buscar a próxima página a partir do cursor sem OFFSET
+CREATE INDEX IF NOT EXISTS idx_boletos_user_id_id ON boletos(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_boletos_user_vencimento_id ON boletos(user_id, vencimento, id);
+CREATE INDEX IF NOT EXISTS idx_boletos_user_created_at_id ON boletos(user_id, created_at, id);
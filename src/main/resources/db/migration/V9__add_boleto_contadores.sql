@@ -0,0 +1,16 @@
+-- Contadores de boletos por usuário, status e categoria (0 = sem categoria), mantidos
+-- na mesma transação das escritas para evitar COUNT a cada listagem
+CREATE TABLE IF NOT EXISTS boleto_contadores (
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    categoria_id BIGINT NOT NULL DEFAULT 0,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, status, categoria_id),
+    CONSTRAINT fk_boleto_contadores_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Carga inicial a partir dos boletos existentes
+INSERT INTO boleto_contadores (user_id, status, categoria_id, quantidade)
+SELECT user_id, status, COALESCE(categoria_id, 0), COUNT(*)
+FROM boletos
+GROUP BY user_id, status, COALESCE(categoria_id, 0);
@@ -0,0 +1,113 @@
+package com.yagodaoud.venceja.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyDateCodecTest {
+
+    @Test
+    void parsesBrazilianAndInternationalMoney() {
+        assertEquals(123456, cents("1.234,56"));
+        assertEquals(123456, cents("1,234.56"));
+        assertEquals(123450, cents("1234,5"));
+        assertEquals(15000, cents("150"));
+        assertEquals(99, cents("0,99"));
+        assertEquals(123456789, cents("R$ 1.234.567,89"));
+        assertEquals(100, cents("  R$1,00  "));
+    }
+
+    @Test
+    void rejectsInvalidMoney() {
+        assertEquals(-1, cents(""));
+        assertEquals(-1, cents("R$"));
+        assertEquals(-1, cents("12.34.56"));
+        assertEquals(-1, cents("1.23,45"));
+        assertEquals(-1, cents("1,234,5678"));
+        assertEquals(-1, cents("12a,00"));
+        assertEquals(-1, cents("1234567890123456"));
+    }
+
+    @Test
+    void parsesMoneyInsideALargerText() {
+        String text = "Valor: 1.234,56 reais";
+
+        assertEquals(123456, MoneyDateCodec.parseCents(text, 7, 15));
+    }
+
+    @Test
+    void parseMoneyReturnsNullForInvalidText() {
+        assertEquals(new BigDecimal("1234.56"), MoneyDateCodec.parseMoney("1.234,56"));
+        assertNull(MoneyDateCodec.parseMoney("abc"));
+        assertNull(MoneyDateCodec.parseMoney(null));
+    }
+
+    @Test
+    void formatsMoney() {
+        assertEquals("0,05", MoneyDateCodec.formatMoney(new BigDecimal("0.05")));
+        assertEquals("999,00", MoneyDateCodec.formatMoney(new BigDecimal("999")));
+        assertEquals("1.234,56", MoneyDateCodec.formatMoney(new BigDecimal("1234.56")));
+        assertEquals("1.234.567,80", MoneyDateCodec.formatMoney(new BigDecimal("1234567.8")));
+        assertEquals("-10,00", MoneyDateCodec.formatMoney(new BigDecimal("-10")));
+    }
+
+    @Test
+    void parsesDatesWithAnySingleSeparator() {
+        assertEquals(LocalDate.of(2026, 10, 20), MoneyDateCodec.parseDate("20/10/2026"));
+        assertEquals(LocalDate.of(2026, 10, 20), MoneyDateCodec.parseDate("20-10-2026"));
+        assertEquals(LocalDate.of(2026, 10, 20), MoneyDateCodec.parseDate(" 20.10.2026 "));
+    }
+
+    @Test
+    void clampsDayToEndOfMonth() {
+        assertEquals(LocalDate.of(2026, 4, 30), MoneyDateCodec.parseDate("31/04/2026"));
+        assertEquals(LocalDate.of(2028, 2, 29), MoneyDateCodec.parseDate("30/02/2028"));
+    }
+
+    @Test
+    void rejectsInvalidDates() {
+        assertNull(MoneyDateCodec.parseDate("20/10-2026"));
+        assertNull(MoneyDateCodec.parseDate("20/13/2026"));
+        assertNull(MoneyDateCodec.parseDate("00/10/2026"));
+        assertNull(MoneyDateCodec.parseDate("32/10/2026"));
+        assertNull(MoneyDateCodec.parseDate("2026-10-20"));
+        assertNull(MoneyDateCodec.parseDate("20/10/26"));
+        assertNull(MoneyDateCodec.parseDate(null));
+    }
+
+    @Test
+    void formatsDatesAndDateTimes() {
+        assertEquals("05/01/2026", MoneyDateCodec.formatDate(LocalDate.of(2026, 1, 5)));
+
+        char[] buf = new char[19];
+        int end = MoneyDateCodec.formatDateTime(LocalDateTime.of(2026, 10, 16, 8, 5, 9), buf, 0);
+        assertEquals("16/10/2026 08:05:09", new String(buf, 0, end));
+    }
+
+    @Test
+    void deserializesJsonMoneyAndDates() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(BigDecimal.class, new MoneyDateCodec.MoneyDeserializer())
+                .addDeserializer(LocalDate.class, new MoneyDateCodec.DateDeserializer()));
+
+        assertEquals(new BigDecimal("1234.56"), mapper.readValue("\"1.234,56\"", BigDecimal.class));
+        assertEquals(new BigDecimal("10.5"), mapper.readValue("10.5", BigDecimal.class));
+        assertNull(mapper.readValue("\" \"", BigDecimal.class));
+        assertEquals(LocalDate.of(2026, 10, 20), mapper.readValue("\"20/10/2026\"", LocalDate.class));
+        assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"1.23,4\"", BigDecimal.class));
+        assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"2026-10-20\"", LocalDate.class));
+    }
+
+    private static long cents(String text) {
+        return MoneyDateCodec.parseCents(text, 0, text.length());
+    }
+}
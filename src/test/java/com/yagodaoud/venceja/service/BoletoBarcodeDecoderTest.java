@@ -0,0 +1,138 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.service.BoletoBarcodeDecoder.Decoded;
+import com.yagodaoud.venceja.service.BoletoBarcodeDecoder.Tipo;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoletoBarcodeDecoderTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 10, 16);
+
+    // Banco do Brasil, R$ 1.234,56, vencimento 20/10/2026 (fator 1605, ciclo atual)
+    private static final String BANCARIO = "00191160500001234560000002800000000001234517";
+    private static final String BANCARIO_LINHA = "00190.00009 02800.000008 00012.345179 1 16050000123456";
+
+    // Arrecadação com DV módulo 10 (identificador 6), R$ 150,75
+    private static final String ARRECADACAO_MOD10 = "82610000001507500010109900000000000000000012";
+    private static final String ARRECADACAO_MOD10_LINHA = "826100000015507500010107990000000002000000000125";
+
+    // Arrecadação com DV módulo 11 (identificador 8), R$ 99,90
+    private static final String ARRECADACAO_MOD11 = "82830000000999000010109900000000000000000034";
+    private static final String ARRECADACAO_MOD11_LINHA = "828300000007999000010100990000000003000000000345";
+
+    @Test
+    void decodesBancarioBarcode() {
+        Decoded decoded = BoletoBarcodeDecoder.decode(BANCARIO, HOJE).orElseThrow();
+
+        assertEquals(Tipo.BANCARIO, decoded.tipo());
+        assertEquals(BANCARIO, decoded.codigoBarras());
+        assertEquals(new BigDecimal("1234.56"), decoded.valor());
+        assertEquals(LocalDate.of(2026, 10, 20), decoded.vencimento());
+    }
+
+    @Test
+    void convertsLinhaDigitavelBancariaToBarcode() {
+        Decoded decoded = BoletoBarcodeDecoder.decode(BANCARIO_LINHA, HOJE).orElseThrow();
+
+        assertEquals(BANCARIO, decoded.codigoBarras());
+        assertEquals(new BigDecimal("1234.56"), decoded.valor());
+    }
+
+    @Test
+    void rejectsWrongMod11GeneralDigit() {
+        String barcode = BANCARIO.substring(0, 4) + '2' + BANCARIO.substring(5);
+
+        assertTrue(BoletoBarcodeDecoder.decode(barcode, HOJE).isEmpty());
+    }
+
+    @Test
+    void rejectsWrongMod10FieldDigit() {
+        // Último dígito do primeiro campo (posição 10) alterado
+        String linha = "00190000080280000000800012345179116050000123456";
+
+        assertTrue(BoletoBarcodeDecoder.decode(linha, HOJE).isEmpty());
+    }
+
+    @Test
+    void zeroFatorAndValorHaveNoVencimentoOrValor() {
+        Decoded decoded = BoletoBarcodeDecoder.decode("23792000000000000003381260007827136979000009", HOJE).orElseThrow();
+
+        assertNull(decoded.valor());
+        assertNull(decoded.vencimento());
+    }
+
+    @Test
+    void fator9999IsLastDayOfOriginalCycle() {
+        Decoded decoded = BoletoBarcodeDecoder
+                .decode("34194999900000050001090000000000000000000001", LocalDate.of(2025, 1, 10))
+                .orElseThrow();
+
+        assertEquals(LocalDate.of(2025, 2, 21), decoded.vencimento());
+    }
+
+    @Test
+    void fator1000RestartsOn2025_02_22() {
+        String barcode = "10491100000000100001234567890123456789012345";
+
+        assertEquals(LocalDate.of(2025, 2, 22),
+                BoletoBarcodeDecoder.decode(barcode, LocalDate.of(2025, 3, 1)).orElseThrow().vencimento());
+        // Perto de 2000, o mesmo fator ainda pertence ao ciclo original
+        assertEquals(LocalDate.of(2000, 7, 3),
+                BoletoBarcodeDecoder.decode(barcode, LocalDate.of(2000, 7, 1)).orElseThrow().vencimento());
+    }
+
+    @Test
+    void decodesArrecadacaoMod10() {
+        Decoded barcode = BoletoBarcodeDecoder.decode(ARRECADACAO_MOD10, HOJE).orElseThrow();
+        Decoded linha = BoletoBarcodeDecoder.decode(ARRECADACAO_MOD10_LINHA, HOJE).orElseThrow();
+
+        assertEquals(Tipo.ARRECADACAO, barcode.tipo());
+        assertEquals(new BigDecimal("150.75"), barcode.valor());
+        assertNull(barcode.vencimento());
+        assertEquals(ARRECADACAO_MOD10, linha.codigoBarras());
+    }
+
+    @Test
+    void decodesArrecadacaoMod11() {
+        Decoded barcode = BoletoBarcodeDecoder.decode(ARRECADACAO_MOD11, HOJE).orElseThrow();
+        Decoded linha = BoletoBarcodeDecoder.decode(ARRECADACAO_MOD11_LINHA, HOJE).orElseThrow();
+
+        assertEquals(new BigDecimal("99.90"), barcode.valor());
+        assertEquals(ARRECADACAO_MOD11, linha.codigoBarras());
+    }
+
+    @Test
+    void rejectsWrongArrecadacaoBlockDigit() {
+        String linha = ARRECADACAO_MOD11_LINHA.substring(0, 11) + '9' + ARRECADACAO_MOD11_LINHA.substring(12);
+
+        assertTrue(BoletoBarcodeDecoder.decode(linha, HOJE).isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownLengths() {
+        assertTrue(BoletoBarcodeDecoder.decode("1234567890", HOJE).isEmpty());
+        assertTrue(BoletoBarcodeDecoder.decode(null, HOJE).isEmpty());
+    }
+
+    @Test
+    void normalizesLinhaDigitavelAndBarcodeToTheSameValue() {
+        assertEquals(BANCARIO, BoletoBarcodeDecoder.normalize(BANCARIO_LINHA));
+        assertEquals(BANCARIO, BoletoBarcodeDecoder.normalize(BANCARIO));
+        assertEquals(ARRECADACAO_MOD10, BoletoBarcodeDecoder.normalize(ARRECADACAO_MOD10_LINHA));
+    }
+
+    @Test
+    void normalizeKeepsDigitsOfInvalidCodes() {
+        assertEquals("00190000080280000000800012345179116050000123456",
+                BoletoBarcodeDecoder.normalize("00190.00008 02800.000008 00012.345179 1 16050000123456"));
+        assertNull(BoletoBarcodeDecoder.normalize("sem dígitos"));
+        assertNull(BoletoBarcodeDecoder.normalize("1".repeat(49)));
+    }
+}
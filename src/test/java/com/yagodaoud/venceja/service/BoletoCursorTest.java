@@ -0,0 +1,64 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.entity.BoletoStatus;
+import com.yagodaoud.venceja.service.BoletoCursor.Campo;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoletoCursorTest {
+
+    @Test
+    void roundTripsEachSortField() {
+        roundTrip(new BoletoCursor(Campo.ID, true, 42L, 42L));
+        roundTrip(new BoletoCursor(Campo.VENCIMENTO, false, LocalDate.of(2026, 10, 20), 7L));
+        roundTrip(new BoletoCursor(Campo.VALOR, true, new BigDecimal("1234.50"), 8L));
+        roundTrip(new BoletoCursor(Campo.STATUS, false, BoletoStatus.VENCIDO, 9L));
+        roundTrip(new BoletoCursor(Campo.CREATED_AT, true, LocalDateTime.of(2026, 10, 16, 8, 30, 15), 10L));
+    }
+
+    @Test
+    void keepsSeparatorsInsideTextValues() {
+        roundTrip(new BoletoCursor(Campo.FORNECEDOR, false, "Energia: conta 10:30", 11L));
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+        String cursor = new BoletoCursor(Campo.FORNECEDOR, true, "Água & Esgoto?", 1L).encode();
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        String cursor = new BoletoCursor(Campo.VENCIMENTO, true, LocalDate.of(2026, 1, 1), 1L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> BoletoCursor.decode(cursor, Campo.VALOR, true));
+        assertThrows(IllegalArgumentException.class, () -> BoletoCursor.decode(cursor, Campo.VENCIMENTO, false));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> BoletoCursor.decode("@@@", Campo.ID, true));
+        assertThrows(IllegalArgumentException.class, () -> BoletoCursor.decode("djE6aWQ", Campo.ID, true));
+        // Versão, campo e direção corretos, valor que não é número
+        String invalido = new BoletoCursor(Campo.VALOR, true, "abc", 1L).encode();
+        assertThrows(IllegalArgumentException.class, () -> BoletoCursor.decode(invalido, Campo.VALOR, true));
+    }
+
+    @Test
+    void rejectsUnknownSortProperty() {
+        assertEquals(Campo.CREATED_AT, Campo.of("createdAt"));
+        assertThrows(IllegalArgumentException.class, () -> Campo.of("categoria"));
+    }
+
+    private static void roundTrip(BoletoCursor cursor) {
+        assertEquals(cursor, BoletoCursor.decode(cursor.encode(), cursor.campo(), cursor.desc()));
+    }
+}
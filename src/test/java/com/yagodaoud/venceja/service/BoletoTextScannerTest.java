@@ -0,0 +1,147 @@
+package com.yagodaoud.venceja.service;
+
+import com.yagodaoud.venceja.service.BoletoTextScanner.Result;
+import com.yagodaoud.venceja.service.BoletoTextScanner.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Valores extraídos do corpus dos benchmarks JMH (src/jmh/resources/corpus), para que uma
+ * otimização do scanner não mude o resultado sem que o teste perceba
+ */
+class BoletoTextScannerTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 10, 16);
+    private static final Path CORPUS = Path.of("src/jmh/resources/corpus");
+
+    @Test
+    void bancarioCorpusDecodesLinhaDigitavel() throws IOException {
+        List<Result> results = scan("bancario");
+
+        assertEquals(6, results.size());
+        assertDecoded(results.get(0), "487.90", LocalDate.of(2026, 11, 5),
+                "34191090080001234567489012345677616210000048790");
+        assertDecoded(results.get(1), "1299.00", LocalDate.of(2026, 10, 30),
+                "00190000090234567890400012345187516150000129900");
+        assertDecoded(results.get(2), "355.00", LocalDate.of(2026, 12, 1),
+                "10492468021357924680513579246805216470000035500");
+        assertDecoded(results.get(3), "213.45", LocalDate.of(2026, 11, 20),
+                "03399012334567890123745678901237516360000021345");
+        assertDecoded(results.get(4), "89.90", LocalDate.of(2027, 1, 15),
+                "26090001263456700008790123456783116920000008990");
+        assertDecoded(results.get(5), "5600.00", LocalDate.of(2026, 11, 10),
+                "07791111292223333444445555666671516260000560000");
+
+        assertEquals("BANCO DO BRASIL", results.get(1).getFornecedor());
+        assertEquals(Strategy.FIRST_LINE, results.get(1).getFornecedorStrategy());
+    }
+
+    @Test
+    void convenioCorpusUsesTextHeuristics() throws IOException {
+        List<Result> results = scan("convenio");
+
+        assertEquals(4, results.size());
+        assertText(results.get(0), "243.87", Strategy.GENERIC, LocalDate.of(2026, 11, 10), Strategy.LABEL);
+        assertText(results.get(1), "89.32", Strategy.GENERIC, LocalDate.of(2026, 11, 25), Strategy.LABEL);
+        // Sem "R$" nem o rótulo do valor do documento
+        assertText(results.get(2), null, Strategy.NONE, LocalDate.of(2026, 11, 18), Strategy.LABEL);
+        assertText(results.get(3), null, Strategy.NONE, LocalDate.of(2026, 11, 30), Strategy.LABEL);
+
+        assertEquals("ENERGIA ELETRICA - DISTRIBUIDORA REGIONAL S.A", results.get(0).getFornecedor());
+        // Os blocos de convênio do corpus não têm dígitos verificadores válidos
+        results.forEach(result -> assertNull(result.getCodigoBarras()));
+    }
+
+    @Test
+    void ruidoCorpusKeepsOnlyWhatSurvivesTheNoise() throws IOException {
+        List<Result> results = scan("ruido");
+
+        assertEquals(6, results.size());
+        // Letras no lugar de dígitos ("O9008", "34S674", "O5/11") invalidam linha, data e valor
+        assertText(results.get(0), null, Strategy.NONE, null, Strategy.NONE);
+        // Ano com dois dígitos não é aceito
+        assertText(results.get(1), "1299.00", Strategy.GENERIC, null, Strategy.NONE);
+        assertText(results.get(2), "355.00", Strategy.LABEL, null, Strategy.NONE);
+        // Ponto como separador decimal
+        assertText(results.get(3), "243.87", Strategy.GENERIC, LocalDate.of(2026, 11, 10), Strategy.LABEL);
+        assertText(results.get(4), null, Strategy.NONE, LocalDate.of(2026, 11, 20), Strategy.GENERIC);
+        assertText(results.get(5), "5600.00", Strategy.GENERIC, null, Strategy.NONE);
+
+        // Linhas de 47 dígitos coladas ao texto vizinho não são delimitadas
+        results.forEach(result -> assertNull(result.getCodigoBarras()));
+    }
+
+    @Test
+    void decodesPureBarcode() {
+        Result result = BoletoTextScanner.scan(
+                "Boleto\nCódigo de barras:\n00191160500001234560000002800000000001234517\n(=) Valor", HOJE);
+
+        assertEquals("00191160500001234560000002800000000001234517", result.getCodigoBarras());
+        assertEquals(Strategy.CODIGO_BARRAS, result.getCodigoBarrasStrategy());
+        assertEquals(new BigDecimal("1234.56"), result.getValor());
+        assertEquals(LocalDate.of(2026, 10, 20), result.getVencimento());
+    }
+
+    @Test
+    void decodesLinhaDigitavelWithoutDots() {
+        Result result = BoletoTextScanner.scan(
+                "BANCO DO BRASIL\n00190 00009 02800 000008 00012 345179 1 16050000123456\nVencimento 20/10/2026", HOJE);
+
+        assertEquals("00190000090280000000800012345179116050000123456", result.getCodigoBarras());
+        assertEquals(Strategy.LINHA_DIGITAVEL_FLEXIVEL, result.getCodigoBarrasStrategy());
+        assertEquals(new BigDecimal("1234.56"), result.getValor());
+        assertEquals(Strategy.DECODED, result.getValorStrategy());
+    }
+
+    @Test
+    void emptyTextHasNoFields() {
+        Result result = BoletoTextScanner.scan("", HOJE);
+
+        assertNull(result.getValor());
+        assertNull(result.getVencimento());
+        assertNull(result.getFornecedor());
+        assertNull(result.getCodigoBarras());
+    }
+
+    private static void assertDecoded(Result result, String valor, LocalDate vencimento, String codigoBarras) {
+        assertEquals(codigoBarras, result.getCodigoBarras());
+        assertEquals(Strategy.LINHA_DIGITAVEL, result.getCodigoBarrasStrategy());
+        assertEquals(new BigDecimal(valor), result.getValor());
+        assertEquals(Strategy.DECODED, result.getValorStrategy());
+        assertEquals(vencimento, result.getVencimento());
+        assertEquals(Strategy.DECODED, result.getVencimentoStrategy());
+    }
+
+    private static void assertText(Result result, String valor, Strategy valorStrategy,
+                                   LocalDate vencimento, Strategy vencimentoStrategy) {
+        assertEquals(valor != null ? new BigDecimal(valor) : null, result.getValor());
+        assertEquals(valorStrategy, result.getValorStrategy());
+        assertEquals(vencimento, result.getVencimento());
+        assertEquals(vencimentoStrategy, result.getVencimentoStrategy());
+    }
+
+    /**
+     * Textos do corpus separados por linhas "=====", como no ExtractionBenchmark
+     */
+    private static List<Result> scan(String corpus) throws IOException {
+        String content = Files.readString(CORPUS.resolve(corpus + ".txt"), StandardCharsets.UTF_8);
+        List<Result> results = new ArrayList<>();
+        for (String text : content.split("(?m)^=====$")) {
+            if (!text.isBlank()) {
+                results.add(BoletoTextScanner.scan(text.strip(), HOJE));
+            }
+        }
+        return results;
+    }
+}